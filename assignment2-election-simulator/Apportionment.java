@@ -0,0 +1,229 @@
+/**
+ * Apportionment.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 24
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Allocates a number of seats between parties in proportion
+ *          to their votes, using one of several methods. ROUNDED rounds each
+ *          party's share of the seats to the nearest integer (the original PR
+ *          calculation), so the seats don't always add up to the total. The
+ *          other methods always allocate exactly the total number of seats:
+ *          HARE (largest remainder with the Hare quota) gives each party the
+ *          whole part of its share, then the leftover seats to the largest
+ *          remainders; DHONDT and SAINTE_LAGUE (highest averages) give seats
+ *          one at a time to the party with the highest quotient of votes over
+ *          a divisor, which is seats + 1 for D'Hondt and 2 x seats + 1 for
+ *          Sainte-Laguë. Both use a priority queue of parties, so that an
+ *          allocation takes O(seats log parties) time. Seats can also be
+ *          allocated for a whole range of house sizes at once; since highest
+ *          averages methods give the seats one at a time, the allocation for
+ *          every size in the range comes out of a single pass. Quotients and
+ *          remainders are compared exactly with integer arithmetic, and ties
+ *          are broken in favour of the party with the lowest ID.
+ */
+
+import java.util.PriorityQueue;
+
+public class Apportionment {
+    public static final int ROUNDED = 0;
+    public static final int HARE = 1;
+    public static final int DHONDT = 2;
+    public static final int SAINTE_LAGUE = 3;
+    public static final String[] METHOD_NAMES = { "Rounded", "Hare", "D'Hondt", "Sainte-Laguë" };
+
+    /**
+     * Allocates a given number of seats between parties with a given method.
+     * If no votes were cast, every party gets 0 seats.
+     *
+     * @param method      the apportionment method (ROUNDED, HARE, DHONDT, or
+     *                    SAINTE_LAGUE).
+     * @param partyTotals the vote total of each party.
+     * @param totalSeats  the number of seats to allocate.
+     * @param seats       the array in which the seat count of each party is
+     *                    stored.
+     */
+    public static void allocate(int method, long[] partyTotals, int totalSeats, int[] seats) {
+        if (method == ROUNDED) {
+            VoteTally.computePRSeats(partyTotals, totalSeats, seats);
+        } else if (method == HARE) {
+            allocateLargestRemainder(partyTotals, getTotalVotes(partyTotals), totalSeats, seats, 0);
+        } else if (method == DHONDT) {
+            allocateHighestAverages(partyTotals, totalSeats, totalSeats, 1, seats);
+        } else if (method == SAINTE_LAGUE) {
+            allocateHighestAverages(partyTotals, totalSeats, totalSeats, 2, seats);
+        } else {
+            throw new IllegalArgumentException("Unknown apportionment method: " + method);
+        }
+    }
+
+    /**
+     * Allocates seats between parties with a given method for every house
+     * size in a range. The allocations are stored in a matrix with one row
+     * per house size (the smallest first), indexed by party ID, and each row
+     * is identical to the result of allocate() for that size. The national
+     * vote total is only computed once, and highest averages methods only run
+     * once, up to the largest size.
+     *
+     * @param method      the apportionment method (ROUNDED, HARE, DHONDT, or
+     *                    SAINTE_LAGUE).
+     * @param partyTotals the vote total of each party.
+     * @param minSeats    the smallest house size.
+     * @param maxSeats    the largest house size.
+     * @param seats       the array in which the seat count of each party is
+     *                    stored for each house size, with room for
+     *                    (maxSeats - minSeats + 1) x parties values.
+     */
+    public static void allocateRange(int method, long[] partyTotals, int minSeats, int maxSeats, int[] seats) {
+        if (minSeats < 0 || maxSeats < minSeats) {
+            throw new IllegalArgumentException("Invalid range of seats: " + minSeats + " to " + maxSeats);
+        }
+
+        int numParties = partyTotals.length;
+        if (method == ROUNDED) {
+            // Round each party's share as VoteTally.computePRSeats() does.
+            long totalVotes = getTotalVotes(partyTotals);
+            for (int i = 0; i < numParties; i++) {
+                double share = totalVotes > 0 ? (double) partyTotals[i] / totalVotes : 0;
+                for (int j = minSeats; j <= maxSeats; j++) {
+                    seats[(j - minSeats) * numParties + i] = totalVotes > 0 ? (int) Math.round(share * j) : 0;
+                }
+            }
+        } else if (method == HARE) {
+            long totalVotes = getTotalVotes(partyTotals);
+            for (int j = minSeats; j <= maxSeats; j++) {
+                allocateLargestRemainder(partyTotals, totalVotes, j, seats, (j - minSeats) * numParties);
+            }
+        } else if (method == DHONDT) {
+            allocateHighestAverages(partyTotals, minSeats, maxSeats, 1, seats);
+        } else if (method == SAINTE_LAGUE) {
+            allocateHighestAverages(partyTotals, minSeats, maxSeats, 2, seats);
+        } else {
+            throw new IllegalArgumentException("Unknown apportionment method: " + method);
+        }
+    }
+
+    /**
+     * Allocates seats by the largest remainder method with the Hare quota.
+     * Each party first gets the whole part of votes x seats / total votes,
+     * then the seats left over go to the parties with the largest remainders.
+     *
+     * @param partyTotals the vote total of each party.
+     * @param totalVotes  the sum of the vote totals.
+     * @param totalSeats  the number of seats to allocate.
+     * @param seats       the array in which the seat count of each party is
+     *                    stored.
+     * @param offset      the position in seats of the first party's count.
+     */
+    private static void allocateLargestRemainder(long[] partyTotals, long totalVotes, int totalSeats, int[] seats,
+            int offset) {
+        long[] remainders = new long[partyTotals.length];
+        int seatsLeft = totalSeats;
+
+        // Give each party the whole part of its share of the seats.
+        for (int i = 0; i < partyTotals.length; i++) {
+            if (totalVotes > 0) {
+                seats[offset + i] = (int) (partyTotals[i] * totalSeats / totalVotes);
+                remainders[i] = partyTotals[i] * totalSeats % totalVotes;
+                seatsLeft -= seats[offset + i];
+            } else {
+                seats[offset + i] = 0;
+            }
+        }
+
+        // Give the seats left over to the largest remainders. Since the
+        // remainders add up to seatsLeft x total votes, there are always
+        // enough parties with a positive remainder.
+        if (totalVotes > 0 && seatsLeft > 0) {
+            PriorityQueue<Integer> queue = new PriorityQueue<Integer>(partyTotals.length, (first, second) -> {
+                int returnVal = Long.compare(remainders[second], remainders[first]);
+                if (returnVal == 0) {
+                    returnVal = Integer.compare(first, second);
+                }
+                return returnVal;
+            });
+            for (int i = 0; i < partyTotals.length; i++) {
+                if (remainders[i] > 0) {
+                    queue.add(i);
+                }
+            }
+            for (int i = 0; i < seatsLeft; i++) {
+                seats[offset + queue.poll()]++;
+            }
+        }
+    }
+
+    /**
+     * Allocates seats by a highest averages method, one seat at a time. Each
+     * seat goes to the party with the highest quotient of votes over
+     * (step x seats won + 1), so a step of 1 gives D'Hondt and a step of 2
+     * gives Sainte-Laguë. Quotients are compared by cross-multiplying, which
+     * is exact. Since giving one more seat never changes who won the previous
+     * ones, the allocation for each house size in a range is recorded as the
+     * seats are given out.
+     *
+     * @param partyTotals the vote total of each party.
+     * @param minSeats    the smallest house size to record.
+     * @param maxSeats    the largest house size to record.
+     * @param step        the amount by which a party's divisor grows with each
+     *                    seat it wins.
+     * @param seats       the array in which the seat count of each party is
+     *                    stored for each house size, one row per size.
+     */
+    private static void allocateHighestAverages(long[] partyTotals, int minSeats, int maxSeats, int step,
+            int[] seats) {
+        int numParties = partyTotals.length;
+        int[] won = new int[numParties];
+        long[] divisors = new long[partyTotals.length];
+        PriorityQueue<Integer> queue = new PriorityQueue<Integer>(Math.max(1, partyTotals.length),
+                (first, second) -> {
+                    int returnVal = Long.compare(partyTotals[second] * divisors[first],
+                            partyTotals[first] * divisors[second]);
+                    if (returnVal == 0) {
+                        returnVal = Integer.compare(first, second);
+                    }
+                    return returnVal;
+                });
+
+        // Only parties with votes can win seats.
+        for (int i = 0; i < partyTotals.length; i++) {
+            won[i] = 0;
+            divisors[i] = 1;
+            if (partyTotals[i] > 0) {
+                queue.add(i);
+            }
+        }
+
+        // Give each seat to the highest quotient, then put the party back with
+        // its next divisor, recording the seats won once each size is reached.
+        for (int i = 0; i <= maxSeats; i++) {
+            if (i >= minSeats) {
+                System.arraycopy(won, 0, seats, (i - minSeats) * numParties, numParties);
+            }
+            if (i < maxSeats && !queue.isEmpty()) {
+                int winner = queue.poll();
+                won[winner]++;
+                divisors[winner] += step;
+                queue.add(winner);
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of votes cast for all parties.
+     *
+     * @param partyTotals the vote total of each party.
+     * @return the sum of the vote totals.
+     */
+    private static long getTotalVotes(long[] partyTotals) {
+        long totalVotes = 0;
+        for (int i = 0; i < partyTotals.length; i++) {
+            totalVotes += partyTotals[i];
+        }
+        return totalVotes;
+    }
+}
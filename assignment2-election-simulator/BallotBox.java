@@ -0,0 +1,178 @@
+/**
+ * BallotBox.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 27
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Stores the ranked ballots cast in one riding compactly.
+ *          Candidates are identified by their position in the riding's list
+ *          of candidates. Identical rankings are stored only once, as a
+ *          pattern with a count of the ballots that share it, so memory
+ *          depends on the number of distinct rankings rather than the number
+ *          of ballots. All patterns are packed end to end in a single array of
+ *          candidate positions, with a second array giving where each pattern
+ *          starts and a third giving its count. Provides methods to add
+ *          ballots, and getter methods for the patterns and their counts.
+ */
+
+import java.util.HashMap;
+
+public class BallotBox {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int numCandidates;
+    private int numPatterns;
+    private short[] preferences;
+    private int preferencesSize;
+    private int[] patternStarts;
+    private long[] counts;
+    private long totalBallots;
+    private HashMap<String, Integer> patternIndex;
+
+    /**
+     * Constructs a new, empty BallotBox for a riding with a given number of
+     * candidates.
+     *
+     * @param numCandidates the number of candidates in the riding.
+     */
+    public BallotBox(int numCandidates) {
+        if (numCandidates < 0 || numCandidates > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid number of candidates: " + numCandidates);
+        }
+
+        this.numCandidates = numCandidates;
+        this.numPatterns = 0;
+        this.preferences = new short[INITIAL_CAPACITY];
+        this.preferencesSize = 0;
+        this.patternStarts = new int[INITIAL_CAPACITY + 1];
+        this.counts = new long[INITIAL_CAPACITY];
+        this.totalBallots = 0;
+        this.patternIndex = new HashMap<String, Integer>();
+    }
+
+    public int getNumCandidates() {
+        return this.numCandidates;
+    }
+
+    public int getNumPatterns() {
+        return this.numPatterns;
+    }
+
+    public long getTotalBallots() {
+        return this.totalBallots;
+    }
+
+    /**
+     * Adds one ballot with a given ranking.
+     *
+     * @param ranking the positions of the ranked candidates, most preferred
+     *                first.
+     */
+    public void addBallot(int[] ranking) {
+        addBallots(ranking, 1);
+    }
+
+    /**
+     * Adds a given number of ballots that share the same ranking. If the
+     * ranking has already been seen, only its count grows. A ballot may rank
+     * any number of candidates, but each candidate at most once; an empty
+     * ranking is exhausted from the start.
+     *
+     * @param ranking the positions of the ranked candidates, most preferred
+     *                first.
+     * @param count   the number of ballots with this ranking.
+     */
+    public void addBallots(int[] ranking, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Ballot count must be non-negative.");
+        }
+
+        // Check the ranking and encode it as a key, one char per candidate.
+        boolean[] ranked = new boolean[this.numCandidates];
+        char[] key = new char[ranking.length];
+        for (int i = 0; i < ranking.length; i++) {
+            if (ranking[i] < 0 || ranking[i] >= this.numCandidates || ranked[ranking[i]]) {
+                throw new IllegalArgumentException("Invalid ranking at position " + i + ": " + ranking[i]);
+            }
+            ranked[ranking[i]] = true;
+            key[i] = (char) ranking[i];
+        }
+
+        String keyString = new String(key);
+        Integer pattern = this.patternIndex.get(keyString);
+        if (pattern == null) {
+            pattern = addPattern(ranking);
+            this.patternIndex.put(keyString, pattern);
+        }
+        this.counts[pattern] += count;
+        this.totalBallots += count;
+    }
+
+    /**
+     * Returns the number of ballots with a given pattern.
+     *
+     * @param pattern the index of the pattern.
+     * @return the number of ballots with the pattern.
+     */
+    public long getCount(int pattern) {
+        return this.counts[pattern];
+    }
+
+    /**
+     * Returns the number of candidates ranked by a given pattern.
+     *
+     * @param pattern the index of the pattern.
+     * @return the length of the pattern's ranking.
+     */
+    public int getLength(int pattern) {
+        return this.patternStarts[pattern + 1] - this.patternStarts[pattern];
+    }
+
+    /**
+     * Returns the candidate at a given rank of a given pattern.
+     *
+     * @param pattern the index of the pattern.
+     * @param rank    the rank, from 0 (most preferred) to the length of the
+     *                pattern (exclusive).
+     * @return the position of the candidate in the riding.
+     */
+    public int getPreference(int pattern, int rank) {
+        return this.preferences[this.patternStarts[pattern] + rank];
+    }
+
+    /**
+     * Appends a new pattern to the packed arrays, growing them if they are
+     * full.
+     *
+     * @param ranking the ranking of the pattern.
+     * @return the index of the new pattern.
+     */
+    private int addPattern(int[] ranking) {
+        if (this.numPatterns == this.counts.length) {
+            int newCapacity = this.counts.length * 2;
+            long[] newCounts = new long[newCapacity];
+            int[] newStarts = new int[newCapacity + 1];
+            System.arraycopy(this.counts, 0, newCounts, 0, this.numPatterns);
+            System.arraycopy(this.patternStarts, 0, newStarts, 0, this.numPatterns + 1);
+            this.counts = newCounts;
+            this.patternStarts = newStarts;
+        }
+        if (this.preferencesSize + ranking.length > this.preferences.length) {
+            short[] newPreferences = new short[Math.max(this.preferences.length * 2,
+                    this.preferencesSize + ranking.length)];
+            System.arraycopy(this.preferences, 0, newPreferences, 0, this.preferencesSize);
+            this.preferences = newPreferences;
+        }
+
+        for (int i = 0; i < ranking.length; i++) {
+            this.preferences[this.preferencesSize++] = (short) ranking[i];
+        }
+        this.patternStarts[this.numPatterns + 1] = this.preferencesSize;
+
+        return this.numPatterns++;
+    }
+}
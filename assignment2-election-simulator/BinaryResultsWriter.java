@@ -0,0 +1,146 @@
+/**
+ * BinaryResultsWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 34
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the results of an election in a compact binary
+ *          format, with a DataOutputStream. The output starts with a header of
+ *          two ints (MAGIC and VERSION), followed by records that each start
+ *          with a one-byte tag:
+ *
+ *          TOTALS: int count, then count x (UTF party, double votes)
+ *          NPV: int method, UTF winner
+ *          SEATS: int method, UTF system, int count, then count x (UTF party,
+ *          double seats)
+ *          RIDING: int id, UTF name, byte province index, int electors, int
+ *          votes, UTF winning party
+ *          END: no payload, marks the end of the results
+ *
+ *          Strings are written in the modified UTF-8 of writeUTF(), and the
+ *          province index is the one given by ProvinceTerritory.
+ */
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+public class BinaryResultsWriter implements iResultsWriter {
+    public static final int MAGIC = 0x454C5253; // "ELRS"
+    public static final int VERSION = 1;
+
+    public static final byte END = 0;
+    public static final byte TOTALS = 1;
+    public static final byte NPV = 2;
+    public static final byte SEATS = 3;
+    public static final byte RIDING = 4;
+
+    private DataOutputStream out;
+
+    /**
+     * Constructs a new BinaryResultsWriter on a given output stream, and writes
+     * the header.
+     *
+     * @param out the stream to which the results are written.
+     * @throws IOException if the output cannot be written to.
+     */
+    public BinaryResultsWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+    }
+
+    /**
+     * Writes a TOTALS record with the vote total of each party.
+     *
+     * @param totals the vote total of each party.
+     * @throws IOException if the output cannot be written to.
+     */
+    @Override
+    public void writeTotalVotes(ArrayList<PartyResult> totals) throws IOException {
+        this.out.writeByte(TOTALS);
+        writeResults(totals);
+    }
+
+    /**
+     * Writes an NPV record naming the winning party.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param winner       the name of the winning party.
+     * @throws IOException if the output cannot be written to.
+     */
+    @Override
+    public void writeNPVWinner(int methodNumber, String winner) throws IOException {
+        this.out.writeByte(NPV);
+        this.out.writeInt(methodNumber);
+        this.out.writeUTF(winner);
+    }
+
+    /**
+     * Writes a SEATS record with the seats won by each party under an
+     * electoral system.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param system       the name of the electoral system.
+     * @param seats        the number of seats won by each party.
+     * @throws IOException if the output cannot be written to.
+     */
+    @Override
+    public void writeSeatDistribution(int methodNumber, String system, ArrayList<PartyResult> seats)
+            throws IOException {
+        this.out.writeByte(SEATS);
+        this.out.writeInt(methodNumber);
+        this.out.writeUTF(system);
+        writeResults(seats);
+    }
+
+    /**
+     * Writes a RIDING record with the riding's ID, name, province/territory,
+     * electors, votes cast, and winning party.
+     *
+     * @param riding       the riding.
+     * @param winningParty the name of the party that won the riding.
+     * @throws IOException if the output cannot be written to.
+     */
+    @Override
+    public void writeRiding(Riding riding, String winningParty) throws IOException {
+        this.out.writeByte(RIDING);
+        this.out.writeInt(riding.getId());
+        this.out.writeUTF(riding.getName());
+        this.out.writeByte(ProvinceTerritory.getProvinceIndex(riding.getLocation()));
+        this.out.writeInt(riding.getElectors());
+        this.out.writeInt(riding.getTotalVotes());
+        this.out.writeUTF(winningParty);
+    }
+
+    /**
+     * Writes the END record, then flushes and closes the output.
+     *
+     * @throws IOException if the output cannot be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.writeByte(END);
+        this.out.close();
+    }
+
+    /**
+     * Writes the number of parties in a distribution, then each party and its
+     * count.
+     *
+     * @param results the count of each party.
+     * @throws IOException if the output cannot be written to.
+     */
+    private void writeResults(ArrayList<PartyResult> results) throws IOException {
+        this.out.writeInt(results.size());
+        for (PartyResult currParty : results) {
+            this.out.writeUTF(currParty.getParty());
+            this.out.writeDouble(currParty.getCount());
+        }
+    }
+}
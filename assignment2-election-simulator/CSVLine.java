@@ -0,0 +1,251 @@
+/**
+ * CSVLine.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 14
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Represents one line of a CSV file as a range of raw UTF-8
+ *          bytes, split into comma-separated fields. The line doesn't own its
+ *          bytes: it points into the buffer of a CSVReader, and only records
+ *          where each field starts and ends. A line that must outlive the
+ *          next read can copy another line's bytes into a buffer of its own.
+ *          Fields are split the same way as String.split(","), so trailing
+ *          empty fields are dropped. Provides methods to get the number of
+ *          fields, check whether a field is blank, check whether a field holds
+ *          an integer and parse it straight from the bytes, match a
+ *          province/territory name straight from the bytes, and decode a field
+ *          to a String when one is needed.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+public class CSVLine {
+    private static final int INITIAL_FIELDS = 8;
+
+    private byte[] bytes;
+    private byte[] ownBytes;
+    private int fieldCount;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+
+    /**
+     * Constructs a new, empty CSVLine.
+     */
+    public CSVLine() {
+        this.bytes = new byte[0];
+        this.ownBytes = this.bytes;
+        this.fieldCount = 0;
+        this.fieldStarts = new int[INITIAL_FIELDS];
+        this.fieldEnds = new int[INITIAL_FIELDS];
+    }
+
+    /**
+     * Points the line at a given range of bytes and splits it into fields on
+     * every comma. As with String.split(","), trailing empty fields are
+     * dropped, except that an empty line has a single empty field.
+     *
+     * @param bytes the buffer containing the line.
+     * @param start the position of the first byte of the line.
+     * @param end   the position after the last byte of the line.
+     */
+    public void set(byte[] bytes, int start, int end) {
+        this.bytes = bytes;
+        this.fieldCount = 0;
+
+        // Record the bounds of each field.
+        int fieldStart = start;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == ',') {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        addField(fieldStart, end);
+
+        // Drop trailing empty fields, unless the line itself is empty.
+        if (end > start) {
+            while (this.fieldCount > 0 && isEmptyField(this.fieldCount - 1)) {
+                this.fieldCount--;
+            }
+        }
+    }
+
+    /**
+     * Copies the fields of another line into this line's own buffer, so that
+     * this line stays valid after the other line's buffer is reused. The
+     * buffer is kept and only grows, so a line that is copied into
+     * repeatedly stops allocating once it has held its longest line.
+     *
+     * @param other the line to be copied.
+     */
+    public void copyFrom(CSVLine other) {
+        int start = 0;
+        int length = 0;
+        if (other.fieldCount > 0) {
+            start = other.fieldStarts[0];
+            length = other.fieldEnds[other.fieldCount - 1] - start;
+        }
+
+        if (this.ownBytes.length < length) {
+            this.ownBytes = new byte[Math.max(this.ownBytes.length * 2, length)];
+        }
+        System.arraycopy(other.bytes, start, this.ownBytes, 0, length);
+        this.bytes = this.ownBytes;
+
+        // Copy the bounds of each field, relative to the start of the copy.
+        this.fieldCount = 0;
+        for (int i = 0; i < other.fieldCount; i++) {
+            addField(other.fieldStarts[i] - start, other.fieldEnds[i] - start);
+        }
+    }
+
+    public int getFieldCount() {
+        return this.fieldCount;
+    }
+
+    /**
+     * Decodes a given field from UTF-8 into a String.
+     *
+     * @param field the index of the field.
+     * @return the contents of the field.
+     */
+    public String getField(int field) {
+        return new String(this.bytes, this.fieldStarts[field], this.fieldEnds[field] - this.fieldStarts[field],
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Matches a given field against the identifiers of every
+     * province/territory straight from its bytes, without decoding it.
+     *
+     * @param field the index of the field.
+     * @return the ProvinceTerritory named by the field, or null if there is
+     *         none.
+     */
+    public ProvinceTerritory getProvinceField(int field) {
+        return ProvinceTerritory.getProvinceMatch(this.bytes, this.fieldStarts[field], this.fieldEnds[field]);
+    }
+
+    /**
+     * Returns true if a given field is empty or only contains whitespace (any
+     * character up to and including a space, as with String.trim()). Bytes of
+     * multi-byte UTF-8 characters are never whitespace.
+     *
+     * @param field the index of the field.
+     * @return true if the field is blank; false otherwise.
+     */
+    public boolean isBlankField(int field) {
+        boolean isBlank = true;
+
+        for (int i = this.fieldStarts[field]; i < this.fieldEnds[field] && isBlank; i++) {
+            if ((this.bytes[i] & 0xFF) > ' ') {
+                isBlank = false;
+            }
+        }
+
+        return isBlank;
+    }
+
+    /**
+     * Returns true if a given field holds a decimal integer that fits in an
+     * int, in the same format accepted by Integer.parseInt(): an optional sign
+     * followed by at least one ASCII digit, with no surrounding whitespace.
+     *
+     * @param field the index of the field.
+     * @return true if the field can be parsed as an int; false otherwise.
+     */
+    public boolean isIntField(int field) {
+        boolean isValid = true;
+        int i = this.fieldStarts[field];
+        int fieldEnd = this.fieldEnds[field];
+        boolean negative = false;
+
+        // Skip the sign, if any.
+        if (i < fieldEnd && (this.bytes[i] == '-' || this.bytes[i] == '+')) {
+            negative = this.bytes[i] == '-';
+            i++;
+        }
+
+        if (i == fieldEnd) {
+            isValid = false;
+        }
+
+        // Accumulate the digits as a negative number so that Integer.MIN_VALUE
+        // can be represented, stopping as soon as the value overflows.
+        long value = 0;
+        for (; i < fieldEnd && isValid; i++) {
+            int digit = this.bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                isValid = false;
+            } else {
+                value = value * 10 - digit;
+                if (value < Integer.MIN_VALUE || (!negative && value < -Integer.MAX_VALUE)) {
+                    isValid = false;
+                }
+            }
+        }
+
+        return isValid;
+    }
+
+    /**
+     * Parses a given field as an int directly from its bytes. The field must
+     * have been checked with isIntField() first.
+     *
+     * @param field the index of the field.
+     * @return the value of the field.
+     */
+    public int getIntField(int field) {
+        int i = this.fieldStarts[field];
+        int fieldEnd = this.fieldEnds[field];
+        boolean negative = false;
+
+        if (this.bytes[i] == '-' || this.bytes[i] == '+') {
+            negative = this.bytes[i] == '-';
+            i++;
+        }
+
+        int value = 0;
+        for (; i < fieldEnd; i++) {
+            value = value * 10 - (this.bytes[i] - '0');
+        }
+
+        return negative ? value : -value;
+    }
+
+    /**
+     * Returns true if a given field contains no bytes at all.
+     *
+     * @param field the index of the field.
+     * @return true if the field is empty; false otherwise.
+     */
+    private boolean isEmptyField(int field) {
+        return this.fieldStarts[field] == this.fieldEnds[field];
+    }
+
+    /**
+     * Records the bounds of the next field, growing the bound arrays if they
+     * are full.
+     *
+     * @param fieldStart the position of the first byte of the field.
+     * @param fieldEnd   the position after the last byte of the field.
+     */
+    private void addField(int fieldStart, int fieldEnd) {
+        if (this.fieldCount == this.fieldStarts.length) {
+            int[] newStarts = new int[this.fieldCount * 2];
+            int[] newEnds = new int[this.fieldCount * 2];
+            System.arraycopy(this.fieldStarts, 0, newStarts, 0, this.fieldCount);
+            System.arraycopy(this.fieldEnds, 0, newEnds, 0, this.fieldCount);
+            this.fieldStarts = newStarts;
+            this.fieldEnds = newEnds;
+        }
+
+        this.fieldStarts[this.fieldCount] = fieldStart;
+        this.fieldEnds[this.fieldCount] = fieldEnd;
+        this.fieldCount++;
+    }
+}
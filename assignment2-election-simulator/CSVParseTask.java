@@ -0,0 +1,104 @@
+/**
+ * CSVParseTask.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 19
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Parses and validates every row of one ridings or
+ *          candidates CSV file as a fork/join task, without adding anything to
+ *          an ElectionSimulator. Several files can then be parsed at the same
+ *          time, and their rows added to the simulator afterwards in a fixed
+ *          order. Parsing stops at the first malformed row; the exception is
+ *          kept along with the rows parsed before it, so that the caller can
+ *          add those rows first and report errors in the same order as a
+ *          serial load. Provides getter methods for the parsed rows and for
+ *          any error encountered.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+public class CSVParseTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private String filename;
+    private PartyMatcher parties;
+    private ArrayList<Riding> ridings;
+    private ArrayList<CandidateRow> candidates;
+    private MalformedDataException malformedData;
+    private IOException readError;
+
+    /**
+     * Constructs a new CSVParseTask for a given file. If parties is null, the
+     * file is parsed as a ridings file; otherwise, it is parsed as a
+     * candidates file, with candidates' parties found by parties.
+     *
+     * @param filename the name of the CSV file.
+     * @param parties  the matcher built from the list of valid parties, or
+     *                 null for a ridings file.
+     */
+    public CSVParseTask(String filename, PartyMatcher parties) {
+        this.filename = filename;
+        this.parties = parties;
+        this.ridings = new ArrayList<Riding>();
+        this.candidates = new ArrayList<CandidateRow>();
+        this.malformedData = null;
+        this.readError = null;
+    }
+
+    public String getFilename() {
+        return this.filename;
+    }
+
+    public ArrayList<Riding> getRidings() {
+        return this.ridings;
+    }
+
+    public ArrayList<CandidateRow> getCandidates() {
+        return this.candidates;
+    }
+
+    public MalformedDataException getMalformedData() {
+        return this.malformedData;
+    }
+
+    public IOException getReadError() {
+        return this.readError;
+    }
+
+    /**
+     * Reads the file and parses each row after the header, in order, until
+     * the end of the file or the first error. The row of the i-th parsed line
+     * is IOHelper.ROW_START + i.
+     */
+    @Override
+    protected void compute() {
+        try {
+            CSVReader reader = new CSVReader(this.filename);
+            try {
+                CSVLine line = new CSVLine();
+                int row = IOHelper.ROW_START;
+                reader.readLine(line); // Skip the header.
+                while (reader.readLine(line)) {
+                    if (this.parties == null) {
+                        this.ridings.add(IOHelper.parseRidingLine(line, row));
+                    } else {
+                        this.candidates.add(IOHelper.parseCandidateLine(line, row, this.parties));
+                    }
+                    row++;
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (MalformedDataException e) {
+            this.malformedData = e;
+        } catch (IOException e) {
+            this.readError = e;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * CSVReader.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 15
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Streams the lines of a CSV file as raw bytes. The file is
+ *          read through a FileChannel into a reusable buffer, and each line is
+ *          handed out as a CSVLine pointing directly into that buffer, so no
+ *          String or array is allocated per line or per field. Lines end at a
+ *          line feed, a carriage return, or a carriage return followed by a
+ *          line feed, as with BufferedReader.readLine(). The buffer holds the
+ *          whole file if it is smaller than BUFFER_SIZE, and only grows past
+ *          that if a single line doesn't fit in it, so memory use doesn't
+ *          depend on the size of large files. Provides methods to read the
+ *          next line and to close the file.
+ */
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class CSVReader {
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private FileChannel channel;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfFile;
+    private boolean skipLineFeed;
+
+    /**
+     * Opens a given file for reading, with a buffer large enough for the
+     * whole file (plus one byte, so that the end of the file is found without
+     * growing it), up to BUFFER_SIZE bytes. Throws a FileNotFoundException if
+     * the file doesn't exist or can't be opened.
+     *
+     * @param filename the name of the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public CSVReader(String filename) throws IOException {
+        this.channel = new FileInputStream(filename).getChannel();
+        this.buffer = new byte[(int) Math.min(this.channel.size() + 1, BUFFER_SIZE)];
+        this.position = 0;
+        this.limit = 0;
+        this.endOfFile = false;
+        this.skipLineFeed = false;
+    }
+
+    /**
+     * Reads the next line of the file into a given CSVLine, without its line
+     * terminator. The CSVLine points into the reader's buffer, so it is only
+     * valid until the next call to readLine().
+     *
+     * @param line the CSVLine to be pointed at the next line.
+     * @return true if a line was read; false if the end of the file was
+     *         reached.
+     * @throws IOException if the file cannot be read.
+     */
+    public boolean readLine(CSVLine line) throws IOException {
+        boolean found = false;
+        boolean lineRead = false;
+        int scan = this.position;
+
+        while (!found) {
+            // Skip the line feed of a carriage return + line feed pair that
+            // was split across two reads.
+            if (this.skipLineFeed && this.position < this.limit) {
+                if (this.buffer[this.position] == '\n') {
+                    this.position++;
+                    scan = this.position;
+                }
+                this.skipLineFeed = false;
+            }
+
+            // Look for the end of the line in the buffered bytes.
+            while (scan < this.limit && this.buffer[scan] != '\n' && this.buffer[scan] != '\r') {
+                scan++;
+            }
+
+            if (scan < this.limit) {
+                line.set(this.buffer, this.position, scan);
+                if (this.buffer[scan] == '\r') {
+                    this.skipLineFeed = true;
+                }
+                this.position = scan + 1;
+                found = true;
+                lineRead = true;
+            } else if (this.endOfFile) {
+                // The last line may not have a terminator.
+                if (this.position < this.limit) {
+                    line.set(this.buffer, this.position, this.limit);
+                    this.position = this.limit;
+                    lineRead = true;
+                }
+                found = true;
+            } else {
+                scan -= this.position;
+                fill();
+                scan += this.position;
+            }
+        }
+
+        return lineRead;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Moves the unread bytes to the start of the buffer (growing it if it is
+     * full of a single line), then reads as many bytes from the file as fit.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    private void fill() throws IOException {
+        int remaining = this.limit - this.position;
+
+        if (remaining == this.buffer.length) {
+            byte[] newBuffer = new byte[this.buffer.length * 2];
+            System.arraycopy(this.buffer, this.position, newBuffer, 0, remaining);
+            this.buffer = newBuffer;
+        } else {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        }
+        this.position = 0;
+        this.limit = remaining;
+
+        int bytesRead = this.channel.read(ByteBuffer.wrap(this.buffer, this.limit, this.buffer.length - this.limit));
+        if (bytesRead == -1) {
+            this.endOfFile = true;
+        } else {
+            this.limit += bytesRead;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * CSVResultsWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 32
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the results of an election as a CSV file with a
+ *          single header row, so that every record can be read with the same
+ *          columns. The Record column gives the kind of row: "totals" for the
+ *          total votes of a party, "npv" for the NPV winner, "seats" for the
+ *          seats of a party under an electoral system, and "riding" for the
+ *          results of a riding, whose Party is the winning party and whose
+ *          Value is the number of votes cast. Columns that don't apply to a
+ *          record are left empty. Fields are quoted only if they contain a
+ *          comma, a quote, or a line break. Output is encoded in UTF-8 and
+ *          buffered.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+public class CSVResultsWriter implements iResultsWriter {
+    public static final String HEADER = "Record,Method,System,Riding ID,Riding,Province,Electors,Party,Value";
+
+    private PrintWriter pw;
+
+    /**
+     * Constructs a new CSVResultsWriter on a given output stream, and writes
+     * the header row.
+     *
+     * @param out the stream to which the results are written.
+     */
+    public CSVResultsWriter(OutputStream out) {
+        this.pw = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IOHelper.OUTPUT_BUFFER_SIZE));
+        this.pw.print(HEADER + "\n");
+    }
+
+    /**
+     * Writes one "totals" row per party.
+     *
+     * @param totals the vote total of each party.
+     */
+    @Override
+    public void writeTotalVotes(ArrayList<PartyResult> totals) {
+        for (PartyResult currParty : totals) {
+            writeRow("totals", "", "", "", "", "", "", currParty.getParty(),
+                    IOHelper.formatNumber(currParty.getCount()));
+        }
+    }
+
+    /**
+     * Writes an "npv" row naming the winning party.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param winner       the name of the winning party.
+     */
+    @Override
+    public void writeNPVWinner(int methodNumber, String winner) {
+        writeRow("npv", String.valueOf(methodNumber), "National Popular Vote (NPV)", "", "", "", "", winner, "");
+    }
+
+    /**
+     * Writes one "seats" row per party of a seat distribution.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param system       the name of the electoral system.
+     * @param seats        the number of seats won by each party.
+     */
+    @Override
+    public void writeSeatDistribution(int methodNumber, String system, ArrayList<PartyResult> seats) {
+        for (PartyResult currParty : seats) {
+            writeRow("seats", String.valueOf(methodNumber), system, "", "", "", "", currParty.getParty(),
+                    IOHelper.formatNumber(currParty.getCount()));
+        }
+    }
+
+    /**
+     * Writes a "riding" row with the riding's winning party and votes cast.
+     *
+     * @param riding       the riding.
+     * @param winningParty the name of the party that won the riding.
+     */
+    @Override
+    public void writeRiding(Riding riding, String winningParty) {
+        writeRow("riding", "", "", String.valueOf(riding.getId()), riding.getName(),
+                riding.getLocation().getAbbreviation(), String.valueOf(riding.getElectors()), winningParty,
+                String.valueOf(riding.getTotalVotes()));
+    }
+
+    /**
+     * Flushes the rows and closes the output.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        this.pw.close();
+        if (this.pw.checkError()) {
+            throw new IOException("Error writing the results.");
+        }
+    }
+
+    /**
+     * Writes a row of fields, quoting each field as needed.
+     *
+     * @param fields the fields of the row, in the order of the header.
+     */
+    private void writeRow(String... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                this.pw.write(',');
+            }
+            writeField(this.pw, fields[i]);
+        }
+        this.pw.write('\n');
+    }
+
+    /**
+     * Writes a CSV field to a given PrintWriter, surrounded by quotes (with
+     * inner quotes doubled) if it contains a comma, a quote, or a line break.
+     *
+     * @param pw    the PrintWriter to which the field is written.
+     * @param field the field to be written.
+     */
+    static void writeField(PrintWriter pw, String field) {
+        boolean quoted = false;
+        for (int i = 0; i < field.length() && !quoted; i++) {
+            char c = field.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (quoted) {
+            pw.write('"');
+            pw.write(field.replace("\"", "\"\""));
+            pw.write('"');
+        } else {
+            pw.write(field);
+        }
+    }
+}
@@ -10,8 +10,12 @@
  * 
  *          PURPOSE: Represents a Candidate in an election. Contains the
  *          name, party, number of votes, and province/territory of residence
- *          of the candidate. Provides getter methods for each of these instance
- *          variables.
+ *          of the candidate, as well as the ID assigned to the candidate's
+ *          party by a PartyRegistry. Provides getter methods for each of these
+ *          instance variables, a setter for the party ID, a method to change
+ *          the candidate's number of votes as new results come in, and a copy
+ *          constructor. A candidate can be frozen, after which it can't be
+ *          changed.
  * 
  *          NOTE: the skeleton of this class was provided as a template by
  *          instructor Simon Wermie. Implementation logic was written by me.
@@ -22,10 +26,13 @@ public class Candidate {
     private String party;
     private int votes;
     private ProvinceTerritory residence;
+    private int partyId;
+    private boolean frozen;
 
     /**
      * Constructs a new candidate with a given name, party, number of votes,
-     * and province/territory of residence.
+     * and province/territory of residence. The party ID is set to -1 until
+     * the candidate's party has been registered.
      * 
      * @param name        the name of the candidate.
      * @param party       the party of the candidate.
@@ -37,6 +44,24 @@ public class Candidate {
         this.party = party;
         this.votes = votes;
         this.residence = resProvince;
+        this.partyId = -1;
+        this.frozen = false;
+    }
+
+    /**
+     * Constructs a copy of a given candidate, with the same name, party,
+     * number of votes, province/territory of residence, and party ID. The
+     * copy isn't frozen.
+     * 
+     * @param other the candidate to be copied.
+     */
+    public Candidate(Candidate other) {
+        this.name = other.name;
+        this.party = other.party;
+        this.votes = other.votes;
+        this.residence = other.residence;
+        this.partyId = other.partyId;
+        this.frozen = false;
     }
 
     public String getName() {
@@ -54,4 +79,52 @@ public class Candidate {
     public ProvinceTerritory getResidence() {
         return this.residence;
     }
+
+    public int getPartyId() {
+        return this.partyId;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Freezes the candidate, so that any later attempt to change its party ID
+     * or votes throws an IllegalStateException.
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Sets the ID assigned to the candidate's party by a PartyRegistry.
+     * 
+     * @param partyId the ID of the candidate's party.
+     * @throws IllegalStateException if the candidate is frozen.
+     */
+    public void setPartyId(int partyId) {
+        checkNotFrozen();
+        this.partyId = partyId;
+    }
+
+    /**
+     * Adds a given number of votes to the candidate's vote count. The number
+     * may be negative, to correct a previously reported count.
+     * 
+     * @param delta the number of votes to be added.
+     * @throws IllegalStateException if the candidate is frozen.
+     */
+    public void addVotes(int delta) {
+        checkNotFrozen();
+        this.votes += delta;
+    }
+
+    /**
+     * Throws an IllegalStateException if the candidate is frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Candidate " + this.name + " is frozen and can't be changed.");
+        }
+    }
 }
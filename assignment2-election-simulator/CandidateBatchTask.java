@@ -0,0 +1,141 @@
+/**
+ * CandidateBatchTask.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 37
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Parses and validates a batch of consecutive lines of a
+ *          candidates CSV file as a fork/join task, without adding anything
+ *          to an ElectionSimulator. A batch that is too large is split in two
+ *          and both halves are parsed in parallel; each line only writes to
+ *          its own slot of the result arrays, so halves never share a slot.
+ *          Within a range, parsing stops at the first malformed line, and its
+ *          exception is kept in that line's slot, so that the caller can add
+ *          the rows of the batch in order and stop at the first error, exactly
+ *          as a serial load would. Provides getter methods for the parsed row
+ *          and the error of each line.
+ */
+
+import java.util.concurrent.RecursiveAction;
+
+public class CandidateBatchTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public static final int LINES_PER_TASK = 512;
+
+    private CSVLine[] lines;
+    private int from;
+    private int to;
+    private int firstRow;
+    private PartyMatcher parties;
+
+    // Per line of the batch.
+    private CandidateRow[] rows;
+    private MalformedDataException[] errors;
+
+    /**
+     * Constructs a new CandidateBatchTask for the first count lines of a given
+     * array.
+     *
+     * @param lines    the lines of the batch, which must not change until the
+     *                 task is done.
+     * @param count    the number of lines in the batch.
+     * @param firstRow the row number of the first line in the file.
+     * @param parties  the matcher built from the list of valid parties.
+     */
+    public CandidateBatchTask(CSVLine[] lines, int count, int firstRow, PartyMatcher parties) {
+        this(lines, 0, count, firstRow, parties, new CandidateRow[count], new MalformedDataException[count]);
+    }
+
+    /**
+     * Constructs a new CandidateBatchTask for the lines between two given
+     * positions, sharing the result arrays of the whole batch.
+     *
+     * @param lines    the lines of the batch.
+     * @param from     the position of the first line in the range.
+     * @param to       the position after the last line in the range.
+     * @param firstRow the row number of the first line of the batch.
+     * @param parties  the matcher built from the list of valid parties.
+     * @param rows     the parsed row of each line of the batch.
+     * @param errors   the error of each line of the batch.
+     */
+    private CandidateBatchTask(CSVLine[] lines, int from, int to, int firstRow, PartyMatcher parties,
+            CandidateRow[] rows, MalformedDataException[] errors) {
+        this.lines = lines;
+        this.from = from;
+        this.to = to;
+        this.firstRow = firstRow;
+        this.parties = parties;
+        this.rows = rows;
+        this.errors = errors;
+    }
+
+    public int getFirstRow() {
+        return this.firstRow;
+    }
+
+    public int getCount() {
+        return this.rows.length;
+    }
+
+    /**
+     * Returns the row parsed from a given line of the batch.
+     *
+     * @param index the position of the line in the batch.
+     * @return the parsed row, or null if the line is malformed or wasn't
+     *         parsed because an earlier line in its range is malformed.
+     */
+    public CandidateRow getRow(int index) {
+        return this.rows[index];
+    }
+
+    /**
+     * Returns the error found in a given line of the batch.
+     *
+     * @param index the position of the line in the batch.
+     * @return the exception describing why the line is malformed, or null if
+     *         it isn't (or wasn't parsed).
+     */
+    public MalformedDataException getError(int index) {
+        return this.errors[index];
+    }
+
+    /**
+     * Parses every line in the range on the calling thread, in order, until
+     * the end of the range or the first malformed line.
+     */
+    public void parseRange() {
+        boolean malformed = false;
+
+        for (int i = this.from; i < this.to && !malformed; i++) {
+            try {
+                this.rows[i] = IOHelper.parseCandidateLine(this.lines[i], this.firstRow + i, this.parties);
+            } catch (MalformedDataException e) {
+                this.errors[i] = e;
+                malformed = true;
+            }
+        }
+    }
+
+    /**
+     * Parses the range, splitting it in two and parsing both halves in
+     * parallel if it contains more than LINES_PER_TASK lines.
+     */
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= LINES_PER_TASK) {
+            parseRange();
+        } else {
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new CandidateBatchTask(this.lines, this.from, middle, this.firstRow, this.parties, this.rows,
+                            this.errors),
+                    new CandidateBatchTask(this.lines, middle, this.to, this.firstRow, this.parties, this.rows,
+                            this.errors));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * CandidateRow.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 18
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Represents one validated row of a candidates CSV file,
+ *          before the candidate is added to an ElectionSimulator. Contains the
+ *          name and ID of the riding given in the row, along with the
+ *          Candidate created from the row. Rows can be parsed without access
+ *          to the simulator, then checked against its ridings and added later.
+ *          Provides getter methods for each of these instance variables.
+ */
+
+public class CandidateRow {
+    private String ridingName;
+    private int ridingId;
+    private Candidate candidate;
+
+    /**
+     * Constructs a new CandidateRow with a given riding name, riding ID, and
+     * candidate.
+     *
+     * @param ridingName the name of the riding given in the row.
+     * @param ridingId   the ID of the riding given in the row.
+     * @param candidate  the candidate created from the row.
+     */
+    public CandidateRow(String ridingName, int ridingId, Candidate candidate) {
+        this.ridingName = ridingName;
+        this.ridingId = ridingId;
+        this.candidate = candidate;
+    }
+
+    public String getRidingName() {
+        return this.ridingName;
+    }
+
+    public int getRidingId() {
+        return this.ridingId;
+    }
+
+    public Candidate getCandidate() {
+        return this.candidate;
+    }
+}
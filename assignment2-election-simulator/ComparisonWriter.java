@@ -0,0 +1,230 @@
+/**
+ * ComparisonWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 41
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the comparison of two elections as CSV rows with a
+ *          single header, or as JSON Lines objects. Every record holds a value
+ *          before and after, and the change between them. The Record column
+ *          gives the kind of record: "riding share" for a party's share of the
+ *          votes cast in a riding, "riding seat" for whether a party won a
+ *          riding (1 or 0, so that a flip has a change of 1 or -1), and
+ *          "votes", "share", and "seats" for a party's national votes, share
+ *          of the votes cast, and FPTP seats. Riding columns are left empty
+ *          for national records. Shares are written as fractions with six
+ *          decimals. Output is encoded in UTF-8 and buffered.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+public class ComparisonWriter {
+    public static final String CSV_HEADER = "Record,Riding ID,Riding,Province,Party,Before,After,Change";
+
+    private PrintWriter pw;
+    private int format;
+
+    /**
+     * Constructs a new ComparisonWriter on a given output stream, and writes
+     * the header row if the format is CSV.
+     *
+     * @param out    the stream to which the records are written.
+     * @param format the format of the records, either iResultsWriter.CSV or
+     *               iResultsWriter.JSONL.
+     * @throws IllegalArgumentException if the format isn't supported.
+     */
+    public ComparisonWriter(OutputStream out, int format) {
+        if (format != iResultsWriter.CSV && format != iResultsWriter.JSONL) {
+            throw new IllegalArgumentException("Unsupported comparison format: " + format);
+        }
+
+        this.pw = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IOHelper.OUTPUT_BUFFER_SIZE));
+        this.format = format;
+
+        if (format == iResultsWriter.CSV) {
+            this.pw.print(CSV_HEADER + "\n");
+        }
+    }
+
+    /**
+     * Writes a party's share of the votes cast in a riding in both elections.
+     *
+     * @param riding the riding.
+     * @param party  the name of the party.
+     * @param before the party's share before.
+     * @param after  the party's share after.
+     */
+    public void writeRidingShare(Riding riding, String party, double before, double after) {
+        startRecord("riding share", riding, party);
+        writeFractions(before, after);
+    }
+
+    /**
+     * Writes whether a party won a riding in both elections.
+     *
+     * @param riding the riding.
+     * @param party  the name of the party.
+     * @param before 1 if the party won the riding before; 0 otherwise.
+     * @param after  1 if the party won the riding after; 0 otherwise.
+     */
+    public void writeRidingSeat(Riding riding, String party, int before, int after) {
+        startRecord("riding seat", riding, party);
+        writeCounts(before, after);
+    }
+
+    /**
+     * Writes a party's national vote total in both elections.
+     *
+     * @param party  the name of the party.
+     * @param before the party's votes before.
+     * @param after  the party's votes after.
+     */
+    public void writeNationalVotes(String party, long before, long after) {
+        startRecord("votes", null, party);
+        writeCounts(before, after);
+    }
+
+    /**
+     * Writes a party's share of the votes cast nationally in both elections.
+     *
+     * @param party  the name of the party.
+     * @param before the party's share before.
+     * @param after  the party's share after.
+     */
+    public void writeNationalShare(String party, double before, double after) {
+        startRecord("share", null, party);
+        writeFractions(before, after);
+    }
+
+    /**
+     * Writes a party's FPTP seats in both elections.
+     *
+     * @param party  the name of the party.
+     * @param before the party's seats before.
+     * @param after  the party's seats after.
+     */
+    public void writeNationalSeats(String party, int before, int after) {
+        startRecord("seats", null, party);
+        writeCounts(before, after);
+    }
+
+    /**
+     * Flushes the records and closes the output.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    public void close() throws IOException {
+        this.pw.close();
+        if (this.pw.checkError()) {
+            throw new IOException("Error writing the election comparison.");
+        }
+    }
+
+    /**
+     * Writes the fields of a record that come before its values.
+     *
+     * @param record the kind of record.
+     * @param riding the riding, or null for a national record.
+     * @param party  the name of the party.
+     */
+    private void startRecord(String record, Riding riding, String party) {
+        if (this.format == iResultsWriter.CSV) {
+            this.pw.write(record);
+            this.pw.write(',');
+            if (riding != null) {
+                this.pw.print(riding.getId());
+                this.pw.write(',');
+                CSVResultsWriter.writeField(this.pw, riding.getName());
+                this.pw.write(',');
+                this.pw.write(riding.getLocation().getAbbreviation());
+            } else {
+                this.pw.write(",,");
+            }
+            this.pw.write(',');
+            CSVResultsWriter.writeField(this.pw, party);
+        } else {
+            this.pw.write("{\"record\":");
+            JSONLResultsWriter.writeString(this.pw, record);
+            if (riding != null) {
+                this.pw.write(",\"id\":");
+                this.pw.print(riding.getId());
+                this.pw.write(",\"name\":");
+                JSONLResultsWriter.writeString(this.pw, riding.getName());
+                this.pw.write(",\"province\":");
+                JSONLResultsWriter.writeString(this.pw, riding.getLocation().getAbbreviation());
+            }
+            this.pw.write(",\"party\":");
+            JSONLResultsWriter.writeString(this.pw, party);
+        }
+    }
+
+    /**
+     * Writes two counts and the change between them, then ends the record.
+     *
+     * @param before the count before.
+     * @param after  the count after.
+     */
+    private void writeCounts(long before, long after) {
+        writeValueName("before");
+        this.pw.print(before);
+        writeValueName("after");
+        this.pw.print(after);
+        writeValueName("change");
+        this.pw.print(after - before);
+        endRecord();
+    }
+
+    /**
+     * Writes two fractions and the change between them, then ends the
+     * record.
+     *
+     * @param before the fraction before.
+     * @param after  the fraction after.
+     */
+    private void writeFractions(double before, double after) {
+        writeValueName("before");
+        RidingDetailWriter.writeFraction(this.pw, before);
+        writeValueName("after");
+        RidingDetailWriter.writeFraction(this.pw, after);
+        writeValueName("change");
+        RidingDetailWriter.writeFraction(this.pw, after - before);
+        endRecord();
+    }
+
+    /**
+     * Writes what comes before a value: a comma in CSV, or the value's key in
+     * JSON Lines.
+     *
+     * @param name the key of the value.
+     */
+    private void writeValueName(String name) {
+        if (this.format == iResultsWriter.CSV) {
+            this.pw.write(',');
+        } else {
+            this.pw.write(",\"");
+            this.pw.write(name);
+            this.pw.write("\":");
+        }
+    }
+
+    /**
+     * Ends the current record.
+     */
+    private void endRecord() {
+        if (this.format == iResultsWriter.CSV) {
+            this.pw.write('\n');
+        } else {
+            this.pw.write("}\n");
+        }
+    }
+}
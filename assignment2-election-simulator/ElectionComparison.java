@@ -0,0 +1,409 @@
+/**
+ * ElectionComparison.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 40
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Compares two loaded elections, such as two consecutive
+ *          general elections, riding by riding and nationally. Ridings are
+ *          joined on their ID through the riding index of each
+ *          ElectionSimulator, so each riding is looked up in constant time and
+ *          the whole comparison is a single linear pass over both elections.
+ *          Parties are matched by name: the comparison has its own
+ *          PartyRegistry, in which the parties of the first election keep
+ *          their IDs and new parties of the second are added after them. For
+ *          each riding found in both elections, the swing (the change in each
+ *          party's share of the votes cast) and whether its FPTP winner
+ *          flipped can be streamed to a ComparisonWriter as the pass goes, so
+ *          nothing is kept per riding. Provides getter methods for the
+ *          national vote totals and FPTP seats of each party in both
+ *          elections, the number of flips, and the ridings found in only one
+ *          of the elections.
+ */
+
+import java.util.ArrayList;
+
+public class ElectionComparison {
+    private ElectionSimulator before;
+    private ElectionSimulator after;
+    private PartyRegistry parties;
+
+    // Party IDs of each election, by ID in the comparison's registry (-1 if
+    // the party isn't registered in that election), and the other way around
+    // for the second election.
+    private int[] beforeIds;
+    private int[] afterIds;
+    private int[] afterToUnion;
+
+    // Per party of the comparison's registry.
+    private long[] votesBefore;
+    private long[] votesAfter;
+    private int[] candidatesBefore;
+    private int[] candidatesAfter;
+    private int[] seatsBefore;
+    private int[] seatsAfter;
+
+    private long totalVotesBefore;
+    private long totalVotesAfter;
+    private int numMatched;
+    private int numFlips;
+    private int numOnlyBefore;
+    private int numOnlyAfter;
+
+    // The last riding in which each party was written, so that parties with
+    // candidates in both elections are only written once per riding.
+    private int[] lastWritten;
+
+    /**
+     * Constructs a new ElectionComparison between two elections, matching
+     * their parties by name.
+     *
+     * @param before the first election.
+     * @param after  the second election.
+     */
+    private ElectionComparison(ElectionSimulator before, ElectionSimulator after) {
+        this.before = before;
+        this.after = after;
+
+        PartyRegistry beforeParties = before.getPartyRegistry();
+        PartyRegistry afterParties = after.getPartyRegistry();
+        this.parties = new PartyRegistry(beforeParties);
+        this.afterToUnion = new int[afterParties.size()];
+        for (int i = 0; i < afterParties.size(); i++) {
+            this.afterToUnion[i] = this.parties.register(afterParties.getPartyName(i));
+        }
+
+        int numParties = this.parties.size();
+        this.beforeIds = new int[numParties];
+        this.afterIds = new int[numParties];
+        for (int i = 0; i < numParties; i++) {
+            this.beforeIds[i] = i < beforeParties.size() ? i : -1;
+            this.afterIds[i] = -1;
+        }
+        for (int i = 0; i < this.afterToUnion.length; i++) {
+            this.afterIds[this.afterToUnion[i]] = i;
+        }
+
+        this.votesBefore = new long[numParties];
+        this.votesAfter = new long[numParties];
+        this.candidatesBefore = new int[numParties];
+        this.candidatesAfter = new int[numParties];
+        this.seatsBefore = new int[numParties];
+        this.seatsAfter = new int[numParties];
+        this.lastWritten = new int[numParties];
+    }
+
+    /**
+     * Compares two elections. If a writer is given, the records of every
+     * riding found in both elections are written in the order of the first
+     * election's ridings, followed by the national records of every party
+     * that ran candidates in either election. Neither election may change
+     * during the comparison.
+     *
+     * @param before the first election.
+     * @param after  the second election.
+     * @param writer the writer to which the records are streamed, or null to
+     *               only compute the national results.
+     * @return the comparison of the two elections.
+     */
+    public static ElectionComparison compare(ElectionSimulator before, ElectionSimulator after,
+            ComparisonWriter writer) {
+        ElectionComparison comparison = new ElectionComparison(before, after);
+        comparison.compareRidings(writer);
+        comparison.compareNational(writer);
+        return comparison;
+    }
+
+    public PartyRegistry getPartyRegistry() {
+        return this.parties;
+    }
+
+    public int getNumMatchedRidings() {
+        return this.numMatched;
+    }
+
+    public int getNumFlips() {
+        return this.numFlips;
+    }
+
+    public int getNumRidingsOnlyBefore() {
+        return this.numOnlyBefore;
+    }
+
+    public int getNumRidingsOnlyAfter() {
+        return this.numOnlyAfter;
+    }
+
+    public long getTotalVotesBefore() {
+        return this.totalVotesBefore;
+    }
+
+    public long getTotalVotesAfter() {
+        return this.totalVotesAfter;
+    }
+
+    /**
+     * Returns the national vote total of a party in the first election.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's votes, or 0 if it didn't run.
+     */
+    public long getVotesBefore(int party) {
+        return this.votesBefore[party];
+    }
+
+    /**
+     * Returns the national vote total of a party in the second election.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's votes, or 0 if it didn't run.
+     */
+    public long getVotesAfter(int party) {
+        return this.votesAfter[party];
+    }
+
+    /**
+     * Returns the number of FPTP seats won by a party in the first election.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's seats.
+     */
+    public int getSeatsBefore(int party) {
+        return this.seatsBefore[party];
+    }
+
+    /**
+     * Returns the number of FPTP seats won by a party in the second election.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's seats.
+     */
+    public int getSeatsAfter(int party) {
+        return this.seatsAfter[party];
+    }
+
+    /**
+     * Returns the change in FPTP seats of a party between the two elections.
+     * Unlike a PartyResult, the change can be negative.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's seats after minus its seats before.
+     */
+    public int getSeatChange(int party) {
+        return this.seatsAfter[party] - this.seatsBefore[party];
+    }
+
+    /**
+     * Returns the change in national votes of a party between the two
+     * elections.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return the party's votes after minus its votes before.
+     */
+    public long getVoteChange(int party) {
+        return this.votesAfter[party] - this.votesBefore[party];
+    }
+
+    /**
+     * Returns true if a party ran at least one candidate in either election.
+     *
+     * @param party the ID of the party in the comparison's registry.
+     * @return true if the party ran in either election; false otherwise.
+     */
+    public boolean ranInEither(int party) {
+        return this.candidatesBefore[party] > 0 || this.candidatesAfter[party] > 0;
+    }
+
+    /**
+     * Walks the ridings of the first election, joining each one with the
+     * riding of the same ID in the second, then walks the ridings of the
+     * second to count its seats and the ridings it alone contains.
+     *
+     * @param writer the writer to which the riding records are streamed, or
+     *               null.
+     */
+    private void compareRidings(ComparisonWriter writer) {
+        VoteTally beforeTally = this.before.getTally();
+        VoteTally afterTally = this.after.getTally();
+        ArrayList<Riding> beforeRidings = this.before.getRidings();
+        ArrayList<Riding> afterRidings = this.after.getRidings();
+
+        for (int i = 0; i < beforeRidings.size(); i++) {
+            this.totalVotesBefore += beforeTally.getRidingTotal(i);
+            int winner = beforeTally.getRidingWinner(i);
+            if (winner != -1) {
+                this.seatsBefore[winner]++;
+            }
+
+            int position = this.after.findRidingPosition(beforeRidings.get(i).getId());
+            if (position == -1) {
+                this.numOnlyBefore++;
+            } else {
+                compareRiding(beforeRidings.get(i), i, afterRidings.get(position), position, writer);
+            }
+        }
+
+        for (int i = 0; i < afterRidings.size(); i++) {
+            this.totalVotesAfter += afterTally.getRidingTotal(i);
+            int winner = afterTally.getRidingWinner(i);
+            if (winner != -1) {
+                this.seatsAfter[this.afterToUnion[winner]]++;
+            }
+
+            if (this.before.findRidingPosition(afterRidings.get(i).getId()) == -1) {
+                this.numOnlyAfter++;
+            }
+        }
+    }
+
+    /**
+     * Compares a riding found in both elections, counting it as a flip if its
+     * FPTP winner changed. If a writer is given, writes the share of every
+     * party that ran in the riding in either election (in the order in which
+     * their first candidates appear, first election first), then the seat of
+     * the winner of each election.
+     *
+     * @param beforeRiding   the riding in the first election.
+     * @param beforePosition the position of the riding in the first election.
+     * @param afterRiding    the riding in the second election, whose name and
+     *                       province are written.
+     * @param afterPosition  the position of the riding in the second election.
+     * @param writer         the writer to which the records are streamed, or
+     *                       null.
+     */
+    private void compareRiding(Riding beforeRiding, int beforePosition, Riding afterRiding, int afterPosition,
+            ComparisonWriter writer) {
+        VoteTally beforeTally = this.before.getTally();
+        VoteTally afterTally = this.after.getTally();
+        int beforeWinner = beforeTally.getRidingWinner(beforePosition);
+        int afterWinner = afterTally.getRidingWinner(afterPosition);
+        if (afterWinner != -1) {
+            afterWinner = this.afterToUnion[afterWinner];
+        }
+
+        this.numMatched++;
+        if (beforeWinner != afterWinner) {
+            this.numFlips++;
+        }
+
+        if (writer != null) {
+            long beforeTotal = beforeTally.getRidingTotal(beforePosition);
+            long afterTotal = afterTally.getRidingTotal(afterPosition);
+
+            for (Candidate currCand : beforeRiding.getCandidateList()) {
+                writeRidingShare(afterRiding, currCand.getPartyId(), beforePosition, beforeTotal, afterPosition,
+                        afterTotal, writer);
+            }
+            for (Candidate currCand : afterRiding.getCandidateList()) {
+                int partyId = currCand.getPartyId();
+                writeRidingShare(afterRiding, partyId == -1 ? -1 : this.afterToUnion[partyId], beforePosition,
+                        beforeTotal, afterPosition, afterTotal, writer);
+            }
+
+            if (beforeWinner != -1) {
+                writer.writeRidingSeat(afterRiding, this.parties.getPartyName(beforeWinner), 1,
+                        beforeWinner == afterWinner ? 1 : 0);
+            }
+            if (afterWinner != -1 && afterWinner != beforeWinner) {
+                writer.writeRidingSeat(afterRiding, this.parties.getPartyName(afterWinner), 0, 1);
+            }
+        }
+    }
+
+    /**
+     * Writes a party's share of the votes cast in a riding in both elections,
+     * unless it has already been written for this riding.
+     *
+     * @param riding         the riding, as written.
+     * @param party          the ID of the party in the comparison's registry,
+     *                       or -1 for a candidate without a party.
+     * @param beforePosition the position of the riding in the first election.
+     * @param beforeTotal    the votes cast in the riding in the first
+     *                       election.
+     * @param afterPosition  the position of the riding in the second election.
+     * @param afterTotal     the votes cast in the riding in the second
+     *                       election.
+     * @param writer         the writer to which the record is written.
+     */
+    private void writeRidingShare(Riding riding, int party, int beforePosition, long beforeTotal,
+            int afterPosition, long afterTotal, ComparisonWriter writer) {
+        if (party != -1 && this.lastWritten[party] != this.numMatched) {
+            this.lastWritten[party] = this.numMatched;
+
+            long beforeVotes = getVotes(this.before.getTally(), beforePosition, this.beforeIds[party]);
+            long afterVotes = getVotes(this.after.getTally(), afterPosition, this.afterIds[party]);
+
+            writer.writeRidingShare(riding, this.parties.getPartyName(party),
+                    beforeTotal > 0 ? (double) beforeVotes / beforeTotal : 0,
+                    afterTotal > 0 ? (double) afterVotes / afterTotal : 0);
+        }
+    }
+
+    /**
+     * Returns the votes of a party in a riding of a tally, or 0 if the party
+     * isn't in the tally.
+     *
+     * @param tally    the vote tally of the election.
+     * @param position the position of the riding in the tally.
+     * @param party    the ID of the party in the election, or -1.
+     * @return the party's votes in the riding.
+     */
+    private static long getVotes(VoteTally tally, int position, int party) {
+        long returnVal = 0;
+
+        if (party != -1 && party < tally.getNumParties()) {
+            returnVal = tally.getVotes(position, party);
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Gathers the national vote totals of every party from both tallies and,
+     * if a writer is given, writes the national votes, shares, and seats of
+     * every party that ran candidates in either election.
+     *
+     * @param writer the writer to which the national records are streamed, or
+     *               null.
+     */
+    private void compareNational(ComparisonWriter writer) {
+        VoteTally beforeTally = this.before.getTally();
+        VoteTally afterTally = this.after.getTally();
+        int numParties = this.parties.size();
+
+        for (int i = 0; i < numParties; i++) {
+            if (this.beforeIds[i] != -1 && this.beforeIds[i] < beforeTally.getNumParties()) {
+                this.votesBefore[i] = beforeTally.getPartyTotal(this.beforeIds[i]);
+                this.candidatesBefore[i] = beforeTally.getCandidateCount(this.beforeIds[i]);
+            }
+            if (this.afterIds[i] != -1 && this.afterIds[i] < afterTally.getNumParties()) {
+                this.votesAfter[i] = afterTally.getPartyTotal(this.afterIds[i]);
+                this.candidatesAfter[i] = afterTally.getCandidateCount(this.afterIds[i]);
+            }
+        }
+
+        if (writer != null) {
+            for (int i = 0; i < numParties; i++) {
+                if (ranInEither(i)) {
+                    writer.writeNationalVotes(this.parties.getPartyName(i), this.votesBefore[i], this.votesAfter[i]);
+                }
+            }
+            for (int i = 0; i < numParties; i++) {
+                if (ranInEither(i)) {
+                    writer.writeNationalShare(this.parties.getPartyName(i),
+                            this.totalVotesBefore > 0 ? (double) this.votesBefore[i] / this.totalVotesBefore : 0,
+                            this.totalVotesAfter > 0 ? (double) this.votesAfter[i] / this.totalVotesAfter : 0);
+                }
+            }
+            for (int i = 0; i < numParties; i++) {
+                if (ranInEither(i)) {
+                    writer.writeNationalSeats(this.parties.getPartyName(i), this.seatsBefore[i], this.seatsAfter[i]);
+                }
+            }
+        }
+    }
+}
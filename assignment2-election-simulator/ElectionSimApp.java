@@ -22,6 +22,7 @@
  * 
  */
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Scanner;
@@ -60,6 +61,7 @@ public class ElectionSimApp {
     private static final String RIDINGS_FILE = "ridings.csv";
     private static final String CANDIDATES_FILE = "candidates.csv";
     private static final String FILE_TO_WRITE = "test_output.txt";
+    private static final String SNAPSHOT_FILE = "election.snapshot";
 
     private static ElectionSimulator sim = new ElectionSimulator();
 
@@ -108,17 +110,52 @@ public class ElectionSimApp {
 
     private static void loadRidingsCandidates() {
         try {
-            IOHelper.loadRidingsFromCSV(sim, RIDINGS_FILE);
-            System.out.println("Ridings loaded from " + RIDINGS_FILE + ".");
-
-            IOHelper.loadCandidatesFromCSV(sim, CANDIDATES_FILE, PARTY_LIST);
-            System.out.println("Candidates loaded from " + CANDIDATES_FILE + ".");
+            ElectionSnapshot snapshot = openCurrentSnapshot();
+            if (snapshot != null) {
+                sim = snapshot.toElectionSimulator();
+                System.out.println("Ridings and candidates loaded from " + SNAPSHOT_FILE + ".");
+            } else {
+                IOHelper.loadRidingsFromCSV(sim, RIDINGS_FILE);
+                System.out.println("Ridings loaded from " + RIDINGS_FILE + ".");
+
+                IOHelper.loadCandidatesFromCSV(sim, CANDIDATES_FILE, PARTY_LIST);
+                System.out.println("Candidates loaded from " + CANDIDATES_FILE + ".");
+
+                writeSnapshot();
+            }
         } catch (Exception e) {
             System.out.println("Error loading data: " + e.getMessage());
             sim = new ElectionSimulator();
         }
     }
 
+    // The snapshot is out of date if either CSV file is newer or if it was
+    // written with a different party list.
+    private static ElectionSnapshot openCurrentSnapshot() throws IOException {
+        ElectionSnapshot returnVal = null;
+        File snapshot = new File(SNAPSHOT_FILE);
+
+        if (snapshot.isFile()
+                && snapshot.lastModified() >= new File(RIDINGS_FILE).lastModified()
+                && snapshot.lastModified() >= new File(CANDIDATES_FILE).lastModified()) {
+            returnVal = ElectionSnapshot.open(SNAPSHOT_FILE);
+            if (!returnVal.hasParties(PARTY_LIST)) {
+                returnVal = null;
+            }
+        }
+
+        return returnVal;
+    }
+
+    private static void writeSnapshot() {
+        try {
+            ElectionSnapshot.write(sim, SNAPSHOT_FILE);
+        } catch (IOException e) {
+            // The snapshot only speeds up later starts, so the CSV data stays loaded.
+            System.out.println("Could not write " + SNAPSHOT_FILE + ": " + e.getMessage());
+        }
+    }
+
     private static void writeResults() {
         try {
             IOHelper.writeResultsToFile(sim, FILE_TO_WRITE, TOTAL_SEATS);
@@ -15,61 +15,154 @@
  *          and weighted first-past-the-post (W-FPTP). Contains all of the ridings 
  *          in the election, as well as getter and setter methods which allow the user
  *          to get all ridings, get a riding with a specific ID, add a Riding,
- *          and add a Candidate to a riding. Additionally, provides methods to get 
- *          seat distributions under each electoral system.
+ *          add a Candidate to a riding, apply changes to candidates' vote
+ *          counts as results come in, attach ranked ballots to a riding, and
+ *          get the top or bottom ridings by turnout, winning margin, party vote
+ *          share, or elector count. Additionally, provides methods to get seat
+ *          distributions under each electoral system, including regional PR and
+ *          MMP computed per province/territory, and instant-runoff voting (IRV)
+ *          and the single transferable vote (STV) from ranked ballots, as well
+ *          as PR and W-FPTP distributions swept over a range of house sizes.
+ *          Parties are identified by the dense IDs of a PartyRegistry, and
+ *          every electoral system reads from a single VoteTally that is built
+ *          the first time results are requested and then kept up to date as
+ *          vote counts change. Seat distributions are also cached by method and
+ *          parameters until the election next changes, so that repeating a
+ *          query doesn't recompute it. For concurrent use, the simulator
+ *          publishes immutable ElectionState snapshots: one thread changes the
+ *          election and publishes it when ready, while any number of threads
+ *          query the latest published state without locking. Changes and
+ *          queries made on the simulator itself are synchronized.
  * 
  *          NOTE: the skeleton of this class was provided as a template by
  *          instructor Simon Wermie. Implementation logic was written by me.
  */
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
 
 public class ElectionSimulator {
+    public static final int MAX_CACHED_RESULTS = 256;
+
     private ArrayList<Riding> ridings;
+    private HashMap<Integer, Integer> ridingPositions;
+    private PartyRegistry parties;
+    private VoteTally tally;
+    private RegionalTally regionalTally;
+    private boolean parallel;
+
+    // The latest published state, and the positions of the ridings that have
+    // changed since it was published.
+    private volatile ElectionState state;
+    private HashSet<Integer> unpublishedPositions;
+
+    // Results already computed, by method and parameters, and the number of
+    // changes to the election when they were computed.
+    private HashMap<String, ArrayList<PartyResult>> resultCache;
+    private long modificationCount;
+    private long cachedModificationCount;
 
     /**
      * Constructs a new ElectionSimulator. Creates an ArrayList of ridings that
-     * is empty by default.
+     * is empty by default, along with an index mapping each riding ID to its
+     * position in the list so that lookups don't need to scan the whole list,
+     * and an empty PartyRegistry.
      */
     public ElectionSimulator() {
         this.ridings = new ArrayList<Riding>();
+        this.ridingPositions = new HashMap<Integer, Integer>();
+        this.parties = new PartyRegistry();
+        this.parallel = false;
+        this.unpublishedPositions = new HashSet<Integer>();
+        this.resultCache = new HashMap<String, ArrayList<PartyResult>>();
+        this.modificationCount = 0;
+        this.cachedModificationCount = 0;
+        this.state = new ElectionState(0, new ArrayList<Riding>(), new HashMap<Integer, Integer>(),
+                new PartyRegistry(), false);
     }
 
     public ArrayList<Riding> getRidings() {
         return this.ridings;
     }
 
+    public PartyRegistry getPartyRegistry() {
+        return this.parties;
+    }
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Sets whether the vote tally should be built in parallel. When enabled,
+     * the ridings are split across the common ForkJoinPool, which gives the
+     * same results as the sequential tally but uses every available core.
+     * 
+     * @param parallel whether the vote tally should be built in parallel.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * Returns the riding matching the given ID if such a riding exists; returns
-     * null otherwise.
+     * null otherwise. The riding is looked up in the riding index, so the
+     * lookup takes constant time regardless of the number of ridings.
      * 
      * @param riding the ID of the riding.
      * @return the riding matching the given ID if such a riding exists;
      *         null otherwise.
      */
-    public Riding findRiding(int riding) {
-        Riding returnRiding = null;
-        for (Riding currRiding : this.ridings) {
-            if (currRiding.getId() == riding) {
-                returnRiding = currRiding;
-            }
+    public synchronized Riding findRiding(int riding) {
+        Riding returnVal = null;
+        Integer position = this.ridingPositions.get(riding);
+
+        if (position != null) {
+            returnVal = this.ridings.get(position);
         }
-        return returnRiding;
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the position in the ridings ArrayList (and in the vote tally) of
+     * the riding matching the given ID, looked up in the riding index.
+     * 
+     * @param riding the ID of the riding.
+     * @return the position of the riding, or -1 if no riding has that ID.
+     */
+    public int findRidingPosition(int riding) {
+        int returnVal = -1;
+        Integer position = this.ridingPositions.get(riding);
+
+        if (position != null) {
+            returnVal = position;
+        }
+
+        return returnVal;
     }
 
     /**
      * Adds the given riding to the ridings ArrayList if a riding with that ID
-     * doesn't already exist. Returns true if successful; otherwise, returns
+     * doesn't already exist. The riding is also added to the riding index so
+     * that both stay in sync. Returns true if successful; otherwise, returns
      * false.
      * 
      * @param riding the riding to be added to the ArrayList.
      * @return true if successful; false otherwise.
      */
-    public boolean addRiding(Riding riding) {
+    public synchronized boolean addRiding(Riding riding) {
         boolean returnVal = false;
 
         if (findRiding(riding.getId()) == null) {
+            this.ridingPositions.put(riding.getId(), this.ridings.size());
             this.ridings.add(riding);
+            this.modificationCount++;
+            this.tally = null;
+            this.regionalTally = null;
             returnVal = true;
         }
 
@@ -78,19 +171,26 @@ public class ElectionSimulator {
 
     /**
      * Adds a given Candidate to a riding with a given ID, if that riding
-     * exists and if the candidate is not null. Returns true if the operation
-     * was successful; returns false otherwise.
+     * exists and if the candidate is not null. The candidate's party is
+     * registered in the PartyRegistry and the resulting ID is stored in the
+     * candidate. Returns true if the operation was successful; returns false
+     * otherwise.
      * 
      * @param ridingId the ID of the riding to which the candidate will be added.
      * @param c        the candidate to add to the riding.
      * @return true if the candidate was added successfully; false otherwise.
      */
-    public boolean addCandidateToRiding(int ridingId, Candidate c) {
+    public synchronized boolean addCandidateToRiding(int ridingId, Candidate c) {
         boolean returnVal = false;
         Riding currRiding = findRiding(ridingId);
 
         if (currRiding != null && c != null) {
+            c.setPartyId(this.parties.register(c.getParty()));
             currRiding.addCandidate(c);
+            this.unpublishedPositions.add(this.ridingPositions.get(ridingId));
+            this.modificationCount++;
+            this.tally = null;
+            this.regionalTally = null;
             returnVal = true;
         }
 
@@ -98,79 +198,187 @@ public class ElectionSimulator {
     }
 
     /**
-     * Calculates the total number of votes for each party across all ridings.
-     * For each candidate, their number of votes is added to the count for
-     * their respective party, then each party and its vote count is returned in
-     * a PartyResult ArrayList.
+     * Sets the ranked ballots cast in the riding with a given ID. The ballots
+     * identify candidates by their position in the riding's list of
+     * candidates. Returns false if the riding doesn't exist.
      * 
-     * @return an ArrayList of PartyResult, each containing a party and its
-     *         total vote count.
+     * @param ridingId the ID of the riding.
+     * @param ballots  the ranked ballots, or null to remove them.
+     * @return true if the ballots were set; false otherwise.
+     * @throws IllegalArgumentException if the ballots are for a different
+     *                                  number of candidates than the riding
+     *                                  has.
      */
-    public ArrayList<PartyResult> getTotalVotesPerPartyNational() {
-        ArrayList<PartyResult> parties = new ArrayList<PartyResult>();
+    public synchronized boolean setRidingBallots(int ridingId, BallotBox ballots) {
+        boolean returnVal = false;
+        Riding currRiding = findRiding(ridingId);
 
-        for (Riding currRiding : this.ridings) {
-            addUpRidingVotes(currRiding, parties);
+        if (currRiding != null) {
+            currRiding.setBallots(ballots);
+            this.unpublishedPositions.add(this.ridingPositions.get(ridingId));
+            this.modificationCount++;
+            returnVal = true;
         }
 
-        return parties;
+        return returnVal;
     }
 
     /**
-     * Simulates a national popular vote system by finding and returning the
-     * party with the most votes across all ridings. If no PartyResult has been
-     * created and assigned to a Candidate, returns null.
+     * Returns true if at least one riding has ranked ballots.
      * 
-     * @return the name of the party with the most votes across ridings, or null
-     *         if no parties have been linked to any Candidate.
+     * @return true if some riding has ranked ballots; false otherwise.
      */
-    public String getNPVWinner() {
-        ArrayList<PartyResult> nationalResult = getTotalVotesPerPartyNational();
-        PartyResult winner = null;
-        String party = null;
-
-        // If there are parties in the nationalResult ArrayList, loop through
-        // it to find the one with the most votes.
-        if (nationalResult.size() != 0) {
-            winner = nationalResult.get(0);
-            for (PartyResult currParty : nationalResult) {
-                if (winner.getCount() < currParty.getCount()) {
-                    winner = currParty;
-                }
+    public synchronized boolean hasRankedBallots() {
+        boolean returnVal = false;
+
+        for (int i = 0; i < this.ridings.size() && !returnVal; i++) {
+            returnVal = this.ridings.get(i).getBallots() != null;
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Adds a given number of votes to the candidate with a given name in the
+     * riding with a given ID. The number may be negative, to correct a
+     * previously reported count. If the vote tally has already been built, it
+     * is updated in place: only the riding's row, its winner, and the national
+     * totals change, so results can be requested again without rebuilding the
+     * tally. Returns false, leaving the election unchanged, if the riding or
+     * candidate doesn't exist or if the candidate's count would become
+     * negative.
+     * 
+     * @param ridingId      the ID of the riding.
+     * @param candidateName the name of the candidate.
+     * @param delta         the number of votes to be added.
+     * @return true if the votes were added; false otherwise.
+     */
+    public synchronized boolean applyVoteDelta(int ridingId, String candidateName, int delta) {
+        boolean returnVal = false;
+        Integer position = this.ridingPositions.get(ridingId);
+
+        if (position != null) {
+            returnVal = addVotes(position, candidateName, delta);
+            if (returnVal && this.tally != null) {
+                this.tally.updateRidingWinner(position, this.ridings.get(position));
             }
         }
 
-        if (winner != null) {
-            party = winner.getParty();
+        return returnVal;
+    }
+
+    /**
+     * Applies a batch of vote changes, as with applyVoteDelta(). The winner of
+     * each changed riding is only found again once, after all of the batch's
+     * changes have been added, so the cost of the batch depends on the number
+     * of changes and not on the number of ridings. Changes that can't be
+     * applied are skipped.
+     * 
+     * @param deltas the vote changes to be applied.
+     * @return the number of changes that were applied.
+     */
+    public synchronized int applyVoteDeltas(ArrayList<VoteDelta> deltas) {
+        int applied = 0;
+        HashSet<Integer> changedPositions = new HashSet<Integer>();
+
+        for (VoteDelta currDelta : deltas) {
+            Integer position = this.ridingPositions.get(currDelta.getRidingId());
+            if (position != null && addVotes(position, currDelta.getCandidateName(), currDelta.getDelta())) {
+                changedPositions.add(position);
+                applied++;
+            }
         }
 
-        return party;
+        // Find the winner of each changed riding again.
+        if (this.tally != null) {
+            for (int position : changedPositions) {
+                this.tally.updateRidingWinner(position, this.ridings.get(position));
+            }
+        }
+
+        return applied;
+    }
+
+    /**
+     * Returns the latest published state of the election. Reading the state
+     * never blocks, even while another thread is changing the election, and
+     * the state never changes once published, so every query on it sees the
+     * same election.
+     * 
+     * @return the latest published state.
+     */
+    public ElectionState getState() {
+        return this.state;
+    }
+
+    /**
+     * Publishes the current contents of the election as a new ElectionState,
+     * which becomes the state returned by getState(). Only the ridings that
+     * were added or changed since the last publication are copied (and
+     * frozen); every other riding is shared with the previous state. Returns
+     * the previous state if nothing has changed.
+     * 
+     * @return the published state.
+     */
+    public synchronized ElectionState publish() {
+        List<Riding> previous = this.state.getRidings();
+
+        if (!this.unpublishedPositions.isEmpty() || previous.size() != this.ridings.size()) {
+            ArrayList<Riding> published = new ArrayList<Riding>(this.ridings.size());
+            for (int i = 0; i < this.ridings.size(); i++) {
+                if (i < previous.size() && !this.unpublishedPositions.contains(i)) {
+                    published.add(previous.get(i));
+                } else {
+                    Riding copy = new Riding(this.ridings.get(i));
+                    copy.freeze();
+                    published.add(copy);
+                }
+            }
+
+            this.state = new ElectionState(this.state.getVersion() + 1, published,
+                    new HashMap<Integer, Integer>(this.ridingPositions), new PartyRegistry(this.parties),
+                    this.parallel);
+            this.unpublishedPositions.clear();
+        }
+
+        return this.state;
+    }
+
+    /**
+     * Calculates the total number of votes for each party across all ridings,
+     * as stored in the vote tally. Each party with at least one candidate is
+     * returned along with its vote count in a PartyResult ArrayList.
+     * 
+     * @return an ArrayList of PartyResult, each containing a party and its
+     *         total vote count.
+     */
+    public ArrayList<PartyResult> getTotalVotesPerPartyNational() {
+        return getCachedResult("TOTAL", () -> getTally().getTotalVotesPerParty());
+    }
+
+    /**
+     * Simulates a national popular vote system by finding and returning the
+     * party with the most votes across all ridings. If no PartyResult has been
+     * created and assigned to a Candidate, returns null.
+     * 
+     * @return the name of the party with the most votes across ridings, or null
+     *         if no parties have been linked to any Candidate.
+     */
+    public synchronized String getNPVWinner() {
+        return getTally().getNPVWinner();
     }
 
     /**
      * Determines the number of seats each party wins under a first-past-
-     * the-post system. Calculates the number of votes won by each party in a
-     * riding, then attributes one seat to the party with the most votes. Returns
-     * an ArrayList of PartyResult containing the total seat count for each
-     * Party.
+     * the-post system. One seat is attributed to the party with the most votes
+     * in each riding, as recorded in the vote tally. Returns an ArrayList of
+     * PartyResult containing the total seat count for each Party.
      * 
      * @return an ArrayList of PartyResult containing the total number of seats
      *         won by each party.
      */
     public ArrayList<PartyResult> getFPTPSeatDistribution() {
-        ArrayList<PartyResult> seats = new ArrayList<PartyResult>();
-
-        // Find the party with the most votes for each riding, then increment
-        // their seat count in the seats ArrayList.
-        for (Riding currRiding : this.ridings) {
-            PartyResult winningParty = getRidingWinner(currRiding);
-            if (winningParty != null) {
-                String winningPartyName = winningParty.getParty();
-                PartyResult.addResultToPartyList(seats, winningPartyName, 1);
-            }
-        }
-
-        return seats;
+        return getCachedResult("FPTP", () -> getTally().getFPTPSeatDistribution());
     }
 
     /**
@@ -185,27 +393,23 @@ public class ElectionSimulator {
      *         number of seats they have won (exluding parties with 0 seats).
      */
     public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats) {
-        ArrayList<PartyResult> nationalResult = getTotalVotesPerPartyNational();
-
-        // Get the total number of votes cast nationally.
-        long totalNationalVotes = 0;
-        for (PartyResult currParty : nationalResult) {
-            totalNationalVotes += currParty.getCount();
-        }
-
-        // Calculate the number of seats for each party and add it to an
-        // ArrayList of PartyResult.
-        ArrayList<PartyResult> seatsPR = new ArrayList<PartyResult>();
-        if (totalNationalVotes > 0) {
-            for (PartyResult currParty : nationalResult) {
-                int seatCount = (int) Math.round(((double) currParty.getCount() / totalNationalVotes) * totalSeats);
-                if (seatCount > 0) {
-                    PartyResult.addResultToPartyList(seatsPR, currParty.getParty(), seatCount);
-                }
-            }
-        }
+        return getPRSeatDistribution(totalSeats, Apportionment.ROUNDED);
+    }
 
-        return seatsPR;
+    /**
+     * Calculates the number of seats each party wins under a proportional
+     * representation system, allocating the seats from the national vote
+     * totals with a given apportionment method. Every method except
+     * Apportionment.ROUNDED allocates exactly totalSeats seats.
+     * 
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats, int method) {
+        return getCachedResult("PR " + totalSeats + " " + method,
+                () -> getTally().getPRSeatDistribution(totalSeats, method));
     }
 
     /**
@@ -214,49 +418,63 @@ public class ElectionSimulator {
      * each party's FPTP seats from their PR seats (with only positive results
      * being included). Then, "top-up" seat counts are added onto FPTP seat
      * counts (including parties with 0 FPTP seats, but who won "top-up" seats).
+     * Both FPTP and PR seats are read from the same vote tally.
      * 
      * @return an ArrayList of PartyResult containing each party along with
      *         the number of MMP seats they have won.
      */
     public ArrayList<PartyResult> getMMPSeatDistribution() {
-        ArrayList<PartyResult> mmpResult = new ArrayList<PartyResult>();
-
-        // Get FPTP, PR, and "top-up" seat distributions.
-        ArrayList<PartyResult> fptpResult = getFPTPSeatDistribution();
-        ArrayList<PartyResult> prResult = getPRSeatDistribution(this.ridings.size());
-        ArrayList<PartyResult> topUpSeats = getTopUpSeats(fptpResult, prResult);
-
-        // Merge FPTP and "top-up" results.
-        for (PartyResult currParty : fptpResult) {
-            String party = currParty.getParty();
-            double newCount = currParty.getCount();
-            for (PartyResult topUp : topUpSeats) {
-                if (topUp.getParty().equals(party)) {
-                    newCount += topUp.getCount();
-                }
-            }
-
-            PartyResult.addResultToPartyList(mmpResult, party, newCount);
-        }
-
-        // If a party did not win FPTP seats but received "top-up" seats, add it
-        // to mmpResult.
-        for (PartyResult topUp : topUpSeats) {
-            String party = topUp.getParty();
-            boolean found = false;
+        return getMMPSeatDistribution(Apportionment.ROUNDED);
+    }
 
-            for (int i = 0; i < fptpResult.size() && !found; i++) {
-                if (fptpResult.get(i).getParty().equals(party)) {
-                    found = true;
-                }
-            }
+    /**
+     * Calculates the number of seats each party wins under a mixed-member
+     * proportional system, with the PR seats that determine each party's
+     * "top-up" seats allocated by a given apportionment method.
+     * 
+     * @param method the apportionment method used for the PR seats, as
+     *               defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with
+     *         the number of MMP seats they have won.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution(int method) {
+        return getCachedResult("MMP " + method, () -> getTally().getMMPSeatDistribution(method));
+    }
 
-            if (!found) {
-                PartyResult.addResultToPartyList(mmpResult, party, topUp.getCount());
-            }
-        }
+    /**
+     * Calculates the number of seats each party wins under regional
+     * proportional representation, where the seats are split between
+     * provinces/territories by their number of ridings and each
+     * province/territory's seats are allocated from its own votes. The
+     * provinces/territories are computed in parallel if parallel aggregation
+     * is enabled.
+     * 
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won nationally (excluding parties with
+     *         0 seats).
+     */
+    public ArrayList<PartyResult> getRegionalPRSeatDistribution(int totalSeats, int method) {
+        return getCachedResult("REGIONAL PR " + totalSeats + " " + method,
+                () -> getRegionalTally().getRegionalPRSeatDistribution(totalSeats, method, this.parallel));
+    }
 
-        return mmpResult;
+    /**
+     * Calculates the number of seats each party wins under regional mixed-
+     * member proportional representation, where "top-up" seats are computed
+     * separately in each province/territory from its own votes and FPTP
+     * seats. The provinces/territories are computed in parallel if parallel
+     * aggregation is enabled.
+     * 
+     * @param method the apportionment method used for the PR seats, as
+     *               defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with
+     *         the number of MMP seats they have won nationally.
+     */
+    public ArrayList<PartyResult> getRegionalMMPSeatDistribution(int method) {
+        return getCachedResult("REGIONAL MMP " + method,
+                () -> getRegionalTally().getRegionalMMPSeatDistribution(method, this.parallel));
     }
 
     /**
@@ -271,31 +489,104 @@ public class ElectionSimulator {
      *         final weighted seat count.
      */
     public ArrayList<PartyResult> getWeightedFPTPSeatDistribution(int totalSeats) {
-        ArrayList<PartyResult> weightedResultPrelim = new ArrayList<PartyResult>();
-        double nationalAverageElectors = calculateAverageNumElectors();
-
-        // Calculate the preliminary weight for each party.
-        for (Riding currRiding : this.ridings) {
-            if (currRiding.getElectors() > 0) {
-                double weight = (double) currRiding.getElectors() / nationalAverageElectors;
-                PartyResult winningParty = getRidingWinner(currRiding);
-                if (winningParty != null) {
-                    PartyResult.addResultToPartyList(weightedResultPrelim, winningParty.getParty(), weight);
+        return getCachedResult("W-FPTP " + totalSeats, () -> getTally().getWeightedFPTPSeatDistribution(totalSeats));
+    }
+
+    /**
+     * Determines the PR and W-FPTP seat distributions for every house size in
+     * a given range, such as 300 to 400 seats. The aggregates shared by every
+     * size are computed once from the vote tally, and the distributions are
+     * stored in dense house size x party matrices.
+     * 
+     * @param minSeats the smallest house size.
+     * @param maxSeats the largest house size.
+     * @param method   the apportionment method used for the PR seats, as
+     *                 defined in Apportionment.
+     * @return the seat distributions for each house size.
+     */
+    public synchronized SeatSweep getSeatSweep(int minSeats, int maxSeats, int method) {
+        return getTally().getSeatSweep(minSeats, maxSeats, method);
+    }
+
+    /**
+     * Determines the number of seats each party wins under instant-runoff
+     * voting. In each riding with ranked ballots, the candidate with the
+     * fewest votes is eliminated and their ballots transferred to the next
+     * preference until a candidate holds a majority of the remaining ballots.
+     * Ridings without ranked ballots are decided by their first-past-the-post
+     * winning party, as in getFPTPSeatDistribution(), which is the
+     * instant-runoff winner when every ballot ranks a single candidate.
+     * Winning candidates without a registered party don't count. Parties that
+     * have not won any seats are not included in the result, and the others
+     * are listed in the order in which they win their first seat.
+     * 
+     * @return an ArrayList of PartyResult containing the number of seats won
+     *         by each party.
+     */
+    public ArrayList<PartyResult> getIRVSeatDistribution() {
+        return getCachedResult("IRV", () -> computeIRVSeatDistribution());
+    }
+
+    /**
+     * Determines the number of seats each party wins under instant-runoff
+     * voting, as described in getIRVSeatDistribution(), without using the
+     * result cache.
+     * 
+     * @return an ArrayList of PartyResult containing the number of seats won
+     *         by each party.
+     */
+    private ArrayList<PartyResult> computeIRVSeatDistribution() {
+        VoteTally currTally = getTally();
+        int[] seats = new int[this.parties.size()];
+        int[] firstWins = new int[this.parties.size()];
+
+        for (int i = 0; i < this.ridings.size(); i++) {
+            Riding currRiding = this.ridings.get(i);
+            BallotBox ballots = currRiding.getBallots();
+            int winner = currTally.getRidingWinner(i);
+            if (ballots != null) {
+                int position = RankedCount.countIRV(ballots);
+                winner = position == -1 ? -1 : currRiding.getCandidateList().get(position).getPartyId();
+            }
+
+            // Winners without a registered party don't win a party any seats.
+            if (winner != -1) {
+                if (seats[winner] == 0) {
+                    firstWins[winner] = i;
                 }
+                seats[winner]++;
             }
         }
 
-        // Normalize seat counts.
-        ArrayList<PartyResult> weightedResultFinal = new ArrayList<PartyResult>();
-        double scalingFactor = calculateScalingFactor(weightedResultPrelim, totalSeats);
-        if (scalingFactor > 0) {
-            for (PartyResult currParty : weightedResultPrelim) {
-                int finalSeatCount = (int) Math.round(currParty.getCount() * scalingFactor);
-                PartyResult.addResultToPartyList(weightedResultFinal, currParty.getParty(), finalSeatCount);
+        return currTally.toPartyResults(seats, null, firstWins);
+    }
+
+    /**
+     * Determines the candidates elected in the riding with a given ID under
+     * the single transferable vote, as if the riding elected several members.
+     * Candidates reaching the Droop quota are elected and their surplus is
+     * transferred at a reduced weight; otherwise the candidate with the
+     * fewest votes is eliminated. Returns null if the riding doesn't exist or
+     * has no ranked ballots.
+     * 
+     * @param ridingId the ID of the riding.
+     * @param seats    the number of members to elect.
+     * @return an ArrayList of the elected candidates, in the order in which
+     *         they were elected; or null if the riding doesn't exist or has no
+     *         ranked ballots.
+     */
+    public synchronized ArrayList<Candidate> getSTVWinners(int ridingId, int seats) {
+        ArrayList<Candidate> returnVal = null;
+        Riding currRiding = findRiding(ridingId);
+
+        if (currRiding != null && currRiding.getBallots() != null) {
+            returnVal = new ArrayList<Candidate>();
+            for (int position : RankedCount.countSTV(currRiding.getBallots(), seats)) {
+                returnVal.add(currRiding.getCandidateList().get(position));
             }
         }
 
-        return weightedResultFinal;
+        return returnVal;
     }
 
     /**
@@ -306,7 +597,7 @@ public class ElectionSimulator {
      * @return the riding with the highest turnout; or null if no valid riding
      *         exists.
      */
-    public Riding getRidingWithHighestTurnout() {
+    public synchronized Riding getRidingWithHighestTurnout() {
         Riding highestTurnoutRiding = null;
 
         // Initialize with the first valid riding.
@@ -318,11 +609,14 @@ public class ElectionSimulator {
             }
         }
 
-        // Find which riding has the highest turnout.
+        // Find which riding has the highest turnout. Turnouts are cached in
+        // each riding, so each riding costs a single comparison.
         if (isValid) {
+            double highestTurnout = highestTurnoutRiding.getTurnout();
             for (Riding currRiding : this.ridings) {
-                if (currRiding.getElectors() > 0 && currRiding.getTurnout() > highestTurnoutRiding.getTurnout()) {
+                if (currRiding.getElectors() > 0 && currRiding.getTurnout() > highestTurnout) {
                     highestTurnoutRiding = currRiding;
+                    highestTurnout = currRiding.getTurnout();
                 }
             }
         }
@@ -338,7 +632,7 @@ public class ElectionSimulator {
      * @return the riding with the lowest turnout; or null if no valid riding
      *         exists.
      */
-    public Riding getRidingWithLowestTurnout() {
+    public synchronized Riding getRidingWithLowestTurnout() {
         Riding lowestTurnoutRiding = null;
 
         // Initialize with the first valid riding.
@@ -350,11 +644,14 @@ public class ElectionSimulator {
             }
         }
 
-        // Find which riding has the lowest turnout.
+        // Find which riding has the lowest turnout. Turnouts are cached in
+        // each riding, so each riding costs a single comparison.
         if (isValid) {
+            double lowestTurnout = lowestTurnoutRiding.getTurnout();
             for (Riding currRiding : this.ridings) {
-                if (currRiding.getElectors() > 0 && currRiding.getTurnout() < lowestTurnoutRiding.getTurnout()) {
+                if (currRiding.getElectors() > 0 && currRiding.getTurnout() < lowestTurnout) {
                     lowestTurnoutRiding = currRiding;
+                    lowestTurnout = currRiding.getTurnout();
                 }
             }
         }
@@ -363,132 +660,125 @@ public class ElectionSimulator {
     }
 
     /**
-     * Adds the votes for each candidate in a given riding to the count for their
-     * respective party in a given ArrayList of PartyResult. If the candidate's
-     * party doesn't exist, creates a new PartyResult object and adds it to the
-     * ArrayList.
+     * Returns the k ridings with the highest value of a given metric, highest
+     * first (for example, the 50 ridings with the highest turnout). Ridings
+     * are selected with a bounded heap, so the ridings are never sorted.
      * 
-     * @param riding  the riding whose votes will be added.
-     * @param results the ArrayList of PartyResult containing vote counts for
-     *                each party.
+     * @param ranking the metric by which ridings are ranked.
+     * @param k       the number of ridings to return.
+     * @return the k highest-ranked ridings, or fewer if fewer can be ranked.
      */
-    private void addUpRidingVotes(Riding riding, ArrayList<PartyResult> results) {
-        ArrayList<Candidate> candidates = riding.getCandidates();
-        for (Candidate currCand : candidates) {
-            PartyResult.addResultToPartyList(results, currCand.getParty(), currCand.getVotes());
-        }
+    public synchronized ArrayList<Riding> getTopRidings(RidingRanking ranking, int k) {
+        return ranking.select(this.ridings, k, true);
     }
 
     /**
-     * Finds the party with the highest count in a given riding.
+     * Returns the k ridings with the lowest value of a given metric, lowest
+     * first (for example, the 50 closest races by winning margin). Ridings
+     * are selected with a bounded heap, so the ridings are never sorted.
      * 
-     * @param riding the riding for which we want to find the winning party.
-     * @return a PartyResult containing the party with the highest count, or
-     *         null if no parties exist for the given riding.
+     * @param ranking the metric by which ridings are ranked.
+     * @param k       the number of ridings to return.
+     * @return the k lowest-ranked ridings, or fewer if fewer can be ranked.
      */
-    private PartyResult getRidingWinner(Riding riding) {
-        PartyResult winningParty = null;
-
-        // Gather votes for all parties in the riding.
-        ArrayList<PartyResult> ridingResults = new ArrayList<PartyResult>();
-        addUpRidingVotes(riding, ridingResults);
+    public synchronized ArrayList<Riding> getBottomRidings(RidingRanking ranking, int k) {
+        return ranking.select(this.ridings, k, false);
+    }
 
-        // Find the party with the highest count.
-        if (ridingResults.size() > 0) {
-            winningParty = ridingResults.get(0);
-            for (PartyResult currParty : ridingResults) {
-                if (currParty.getCount() > winningParty.getCount()) {
-                    winningParty = currParty;
-                }
-            }
+    /**
+     * Returns the vote tally for the ridings and candidates currently in the
+     * simulator. The tally is built the first time it is needed (in parallel
+     * if parallel aggregation is enabled) and reused until a riding or
+     * candidate is added. Vote changes are applied to the tally directly.
+     * 
+     * @return the vote tally of the election.
+     */
+    public synchronized VoteTally getTally() {
+        if (this.tally == null) {
+            this.tally = new VoteTally(this.ridings, this.parties, this.parallel);
         }
-
-        return winningParty;
+        return this.tally;
     }
 
     /**
-     * Computes "top-up" seats for each party - that is, the number of additional
-     * FPTP seats a party would need to reach its PR seat count. For elements in
-     * fptpResult and prResult with matching parties, the number of FPTP seats
-     * is subtracted from the number of PR seats, and negative values are clamped
-     * to 0. Any positive result is added to a topUpSeats ArrayList of
-     * PartyResult.
+     * Returns the province/territory x party tally of the election, which is
+     * built from the vote tally the first time it is needed and reused until
+     * a riding, candidate, or vote change is added.
      * 
-     * @param fptpResult an ArrayList of PartyResult containing the total FPTP seat
-     *                   count for each party.
-     * @param prResult   an ArrayList of PartyResult containing the total PR seat
-     *                   count for each party.
-     * @return an ArrayList of PartyResult, each containing a party and its
-     *         "top-up" seat count (parties with counts less than or equal to zero
-     *         are excluded).
+     * @return the regional tally of the election.
      */
-    private ArrayList<PartyResult> getTopUpSeats(ArrayList<PartyResult> fptpResult, ArrayList<PartyResult> prResult) {
-        ArrayList<PartyResult> topUpSeats = new ArrayList<PartyResult>();
-
-        // Subtract FPTP seats from PR seats for each party.
-        for (PartyResult currPR : prResult) {
-            String party = currPR.getParty();
-            double topUpVal = currPR.getCount();
-
-            for (PartyResult currFPTP : fptpResult) {
-                if (currFPTP.getParty().equals(party)) {
-                    // Calculate the "top-up" value, clamping negative values to 0.
-                    topUpVal = Math.max(currPR.getCount() - currFPTP.getCount(), 0);
-                }
-            }
-
-            // If topUpVal is positive, add it to topUpSeats under its respective
-            // party.
-            if (topUpVal > 0) {
-                PartyResult.addResultToPartyList(topUpSeats, party, topUpVal);
-            }
+    public synchronized RegionalTally getRegionalTally() {
+        if (this.regionalTally == null) {
+            this.regionalTally = new RegionalTally(getTally());
         }
+        return this.regionalTally;
+    }
 
-        return topUpSeats;
+    public long getModificationCount() {
+        return this.modificationCount;
     }
 
     /**
-     * Calculates the average number of electors across all ridings. Finds the
-     * total number of electors, then divides it by the number of ridings.
+     * Returns the result stored in the result cache under a given key,
+     * computing and storing it first if it isn't there. The whole cache is
+     * cleared once the election has changed since the results in it were
+     * computed, or once it holds MAX_CACHED_RESULTS results. Since a
+     * PartyResult can be changed, a copy of the stored result is returned.
+     * The cache is only read and written while holding the simulator's lock,
+     * the same one that every change to the election holds, so concurrent
+     * queries neither corrupt it nor see a result from before a change.
      * 
-     * @return the average number of electors across all ridings.
+     * @param key     the method and parameters of the result.
+     * @param compute computes the result if it isn't in the cache.
+     * @return a copy of the result.
      */
-    private double calculateAverageNumElectors() {
-        int numRidings = this.ridings.size();
-        int totalNumElectors = 0;
+    private synchronized ArrayList<PartyResult> getCachedResult(String key, Supplier<ArrayList<PartyResult>> compute) {
+        if (this.cachedModificationCount != this.modificationCount
+                || this.resultCache.size() >= MAX_CACHED_RESULTS) {
+            this.resultCache.clear();
+            this.cachedModificationCount = this.modificationCount;
+        }
 
-        for (Riding currRiding : this.ridings) {
-            totalNumElectors += currRiding.getElectors();
+        ArrayList<PartyResult> result = this.resultCache.get(key);
+        if (result == null) {
+            result = compute.get();
+            this.resultCache.put(key, result);
         }
 
-        return (double) totalNumElectors / numRidings;
+        // Copy the result, so that callers can't change the cached one.
+        ArrayList<PartyResult> copy = new ArrayList<PartyResult>(result.size());
+        for (PartyResult currParty : result) {
+            PartyResult currCopy = new PartyResult(currParty.getParty());
+            currCopy.increment(currParty.getCount());
+            copy.add(currCopy);
+        }
+
+        return copy;
     }
 
     /**
-     * Calculates the scaling factor needed to determine seat distributions
-     * under a weighted first-past-the-post system. Adds up all weighted seats,
-     * then divides the total number of seats by that value.
+     * Adds a given number of votes to a candidate of the riding at a given
+     * position, and to the vote tally if it has already been built. The
+     * riding's winner in the tally is not updated.
      * 
-     * @param weightedSeats an ArrayList of PartyResult containing weighted seat
-     *                      counts for each party.
-     * @param totalSeats    the total number of seats available.
-     * @return the scaling factor for a weighted first-past-the-post system, or
-     *         -1 if no weighted seat values were found.
+     * @param position      the position of the riding in the ridings
+     *                      ArrayList.
+     * @param candidateName the name of the candidate.
+     * @param delta         the number of votes to be added.
+     * @return true if the votes were added; false otherwise.
      */
-    private double calculateScalingFactor(ArrayList<PartyResult> weightedSeats, int totalSeats) {
-        double sumOfWeightedSeats = 0;
+    private boolean addVotes(int position, String candidateName, int delta) {
+        Riding currRiding = this.ridings.get(position);
+        Candidate currCand = currRiding.findCandidate(candidateName);
+        boolean returnVal = currRiding.addVotes(currCand, delta);
 
-        // Add up all weighted seat counts.
-        for (PartyResult currParty : weightedSeats) {
-            sumOfWeightedSeats += currParty.getCount();
+        if (returnVal && this.tally != null) {
+            this.tally.addVotes(position, currCand.getPartyId(), delta);
         }
-
-        // Return the scaling factor, or -1 if no weighted seat values were found.
-        double returnVal;
-        if (sumOfWeightedSeats > 0) {
-            returnVal = totalSeats / sumOfWeightedSeats;
-        } else {
-            returnVal = -1;
+        if (returnVal) {
+            this.regionalTally = null;
+            this.unpublishedPositions.add(position);
+            this.modificationCount++;
         }
 
         return returnVal;
@@ -0,0 +1,420 @@
+/**
+ * ElectionSnapshot.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 16
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Reads and writes a compact binary snapshot of a fully
+ *          loaded ElectionSimulator, so that the CSV files don't have to be
+ *          parsed and validated again on every start. The snapshot stores the
+ *          party registry, the ridings, and the candidates as fixed-width
+ *          columns (one array per field), followed by a heap of length-prefixed
+ *          UTF-8 strings for every name. Provinces/territories are stored as
+ *          their index in ProvinceTerritory.ALL_PROVINCES. Since every column
+ *          has a fixed width, the position of any value can be computed from
+ *          the counts in the header, and the file is read through a read-only
+ *          memory mapping without being parsed. Rebuilding the
+ *          ElectionSimulator still creates every riding and candidate, so it
+ *          takes time linear in the size of the election (MappedElection
+ *          answers queries from the mapped columns without rebuilding it).
+ *          Ranked ballots aren't stored, so an election that has any can't be
+ *          written. Provides a static method to write a snapshot, a static
+ *          method to open one, getter methods for each column, a method to
+ *          check the snapshot's parties against a list of parties, and a
+ *          method to rebuild the ElectionSimulator.
+ *
+ *          File layout (all integers are big-endian):
+ *          header: magic, version, party count, riding count, candidate count
+ *          int[parties] party name offsets
+ *          int[ridings] riding IDs, elector counts, name offsets
+ *          int[ridings + 1] position of each riding's first candidate
+ *          byte[ridings] riding provinces
+ *          int[candidates] party IDs, vote counts, name offsets
+ *          byte[candidates] candidate residences
+ *          string heap: int length + UTF-8 bytes for each name
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ElectionSnapshot {
+    public static final int MAGIC = 0x454C534E; // "ELSN"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private MappedByteBuffer buffer;
+    private int numParties;
+    private int numRidings;
+    private int numCandidates;
+
+    // Position of each column in the file.
+    private int partyNamesStart;
+    private int ridingIdsStart;
+    private int ridingElectorsStart;
+    private int ridingNamesStart;
+    private int ridingCandidatesStart;
+    private int ridingProvincesStart;
+    private int candidatePartiesStart;
+    private int candidateVotesStart;
+    private int candidateNamesStart;
+    private int candidateResidencesStart;
+    private int stringHeapStart;
+
+    /**
+     * Constructs a new ElectionSnapshot over a given mapped file, checking its
+     * header and computing the position of each column. Throws an IOException
+     * if the file isn't a snapshot, has an unsupported version, or is
+     * truncated.
+     *
+     * @param buffer   the memory-mapped contents of the file.
+     * @param filename the name of the file, used in error messages.
+     * @throws IOException if the file isn't a valid snapshot.
+     */
+    private ElectionSnapshot(MappedByteBuffer buffer, String filename) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an election snapshot: " + filename);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported snapshot version in " + filename + ": " + buffer.getInt(Integer.BYTES));
+        }
+
+        this.numParties = buffer.getInt(2 * Integer.BYTES);
+        this.numRidings = buffer.getInt(3 * Integer.BYTES);
+        this.numCandidates = buffer.getInt(4 * Integer.BYTES);
+
+        this.partyNamesStart = HEADER_SIZE;
+        this.ridingIdsStart = this.partyNamesStart + this.numParties * Integer.BYTES;
+        this.ridingElectorsStart = this.ridingIdsStart + this.numRidings * Integer.BYTES;
+        this.ridingNamesStart = this.ridingElectorsStart + this.numRidings * Integer.BYTES;
+        this.ridingCandidatesStart = this.ridingNamesStart + this.numRidings * Integer.BYTES;
+        this.ridingProvincesStart = this.ridingCandidatesStart + (this.numRidings + 1) * Integer.BYTES;
+        this.candidatePartiesStart = this.ridingProvincesStart + this.numRidings;
+        this.candidateVotesStart = this.candidatePartiesStart + this.numCandidates * Integer.BYTES;
+        this.candidateNamesStart = this.candidateVotesStart + this.numCandidates * Integer.BYTES;
+        this.candidateResidencesStart = this.candidateNamesStart + this.numCandidates * Integer.BYTES;
+        this.stringHeapStart = this.candidateResidencesStart + this.numCandidates;
+
+        if (this.numParties < 0 || this.numRidings < 0 || this.numCandidates < 0
+                || buffer.capacity() < this.stringHeapStart) {
+            throw new IOException("Truncated election snapshot: " + filename);
+        }
+    }
+
+    /**
+     * Opens a snapshot file by mapping it into memory. Nothing is read until
+     * a value is requested.
+     *
+     * @param filename the name of the snapshot file.
+     * @return the opened snapshot.
+     * @throws IOException if the file cannot be read or isn't a valid
+     *                     snapshot.
+     */
+    public static ElectionSnapshot open(String filename) throws IOException {
+        IOHelper.validateString(filename, "File name");
+
+        FileChannel channel = new FileInputStream(filename).getChannel();
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            channel.close(); // The mapping stays valid after the channel is closed.
+        }
+
+        return new ElectionSnapshot(buffer, filename);
+    }
+
+    /**
+     * Opens a snapshot file and rebuilds the ElectionSimulator it contains.
+     *
+     * @param filename the name of the snapshot file.
+     * @return a new ElectionSimulator containing the ridings and candidates
+     *         of the snapshot.
+     * @throws IOException if the file cannot be read or isn't a valid
+     *                     snapshot.
+     */
+    public static ElectionSimulator load(String filename) throws IOException {
+        return open(filename).toElectionSimulator();
+    }
+
+    /**
+     * Writes a snapshot of a given ElectionSimulator to a file. The election
+     * is published first, and the published ElectionState is written, so
+     * that the election can keep changing while the file is written.
+     *
+     * @param ed       the ElectionSimulator to be written.
+     * @param filename the name of the file to write to.
+     * @throws IOException              if the file cannot be written to
+     *                                  properly.
+     * @throws IllegalArgumentException if the election has ranked ballots,
+     *                                  which a snapshot can't store.
+     */
+    public static void write(ElectionSimulator ed, String filename) throws IOException {
+        write(ed.publish(), filename);
+    }
+
+    /**
+     * Writes a snapshot of a given ElectionState to a file. Parties are
+     * written in registry order, so that they keep the same IDs when the
+     * snapshot is loaded again.
+     *
+     * @param state    the ElectionState to be written.
+     * @param filename the name of the file to write to.
+     * @throws IOException              if the file cannot be written to
+     *                                  properly.
+     * @throws IllegalArgumentException if the election has ranked ballots,
+     *                                  which a snapshot can't store.
+     */
+    public static void write(ElectionState state, String filename) throws IOException {
+        IOHelper.validateString(filename, "File name");
+        if (state.hasRankedBallots()) {
+            throw new IllegalArgumentException("Ranked ballots can't be stored in an election snapshot.");
+        }
+
+        PartyRegistry parties = state.getPartyRegistry();
+        List<Riding> ridings = state.getRidings();
+        int numCandidates = 0;
+        for (Riding currRiding : ridings) {
+            numCandidates += currRiding.getCandidateList().size();
+        }
+
+        // Encode every name, in the order in which they appear in the heap.
+        ArrayList<byte[]> strings = new ArrayList<byte[]>();
+        for (int i = 0; i < parties.size(); i++) {
+            strings.add(parties.getPartyName(i).getBytes(StandardCharsets.UTF_8));
+        }
+        for (Riding currRiding : ridings) {
+            strings.add(currRiding.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        for (Riding currRiding : ridings) {
+            for (Candidate currCand : currRiding.getCandidateList()) {
+                strings.add(currCand.getName().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)));
+        try {
+            // Header.
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(parties.size());
+            out.writeInt(ridings.size());
+            out.writeInt(numCandidates);
+
+            // Name offsets of parties, then ridings are written below.
+            int stringIndex = 0;
+            int heapOffset = 0;
+            for (int i = 0; i < parties.size(); i++) {
+                out.writeInt(heapOffset);
+                heapOffset += Integer.BYTES + strings.get(stringIndex++).length;
+            }
+
+            // Riding columns.
+            for (Riding currRiding : ridings) {
+                out.writeInt(currRiding.getId());
+            }
+            for (Riding currRiding : ridings) {
+                out.writeInt(currRiding.getElectors());
+            }
+            for (int i = 0; i < ridings.size(); i++) {
+                out.writeInt(heapOffset);
+                heapOffset += Integer.BYTES + strings.get(stringIndex++).length;
+            }
+            int candidateStart = 0;
+            for (Riding currRiding : ridings) {
+                out.writeInt(candidateStart);
+                candidateStart += currRiding.getCandidateList().size();
+            }
+            out.writeInt(candidateStart);
+            for (Riding currRiding : ridings) {
+                out.writeByte(ProvinceTerritory.getProvinceIndex(currRiding.getLocation()));
+            }
+
+            // Candidate columns.
+            for (Riding currRiding : ridings) {
+                for (Candidate currCand : currRiding.getCandidateList()) {
+                    out.writeInt(currCand.getPartyId());
+                }
+            }
+            for (Riding currRiding : ridings) {
+                for (Candidate currCand : currRiding.getCandidateList()) {
+                    out.writeInt(currCand.getVotes());
+                }
+            }
+            for (int i = 0; i < numCandidates; i++) {
+                out.writeInt(heapOffset);
+                heapOffset += Integer.BYTES + strings.get(stringIndex++).length;
+            }
+            for (Riding currRiding : ridings) {
+                for (Candidate currCand : currRiding.getCandidateList()) {
+                    out.writeByte(ProvinceTerritory.getProvinceIndex(currCand.getResidence()));
+                }
+            }
+
+            // String heap.
+            for (byte[] currString : strings) {
+                out.writeInt(currString.length);
+                out.write(currString);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    public int getNumParties() {
+        return this.numParties;
+    }
+
+    public int getNumRidings() {
+        return this.numRidings;
+    }
+
+    public int getNumCandidates() {
+        return this.numCandidates;
+    }
+
+    public String getPartyName(int party) {
+        return getString(this.buffer.getInt(this.partyNamesStart + party * Integer.BYTES));
+    }
+
+    /**
+     * Returns true if the snapshot's parties are exactly a given list of
+     * parties, in the same order, so that a snapshot written with a different
+     * list can be detected as out of date.
+     *
+     * @param parties the list of parties.
+     * @return true if the snapshot has the same parties; false otherwise.
+     */
+    public boolean hasParties(String[] parties) {
+        boolean returnVal = parties.length == this.numParties;
+
+        for (int i = 0; i < parties.length && returnVal; i++) {
+            returnVal = parties[i].equals(getPartyName(i));
+        }
+
+        return returnVal;
+    }
+
+    public int getRidingId(int riding) {
+        return this.buffer.getInt(this.ridingIdsStart + riding * Integer.BYTES);
+    }
+
+    public int getRidingElectors(int riding) {
+        return this.buffer.getInt(this.ridingElectorsStart + riding * Integer.BYTES);
+    }
+
+    public String getRidingName(int riding) {
+        return getString(this.buffer.getInt(this.ridingNamesStart + riding * Integer.BYTES));
+    }
+
+    public ProvinceTerritory getRidingLocation(int riding) {
+        return getProvince(this.buffer.get(this.ridingProvincesStart + riding));
+    }
+
+    /**
+     * Returns the position of the first candidate of a given riding in the
+     * candidate columns. The candidates of riding i are the ones between
+     * getFirstCandidate(i) and getFirstCandidate(i + 1).
+     *
+     * @param riding the position of the riding, from 0 to the number of
+     *               ridings (inclusive).
+     * @return the position of the riding's first candidate.
+     */
+    public int getFirstCandidate(int riding) {
+        return this.buffer.getInt(this.ridingCandidatesStart + riding * Integer.BYTES);
+    }
+
+    public int getCandidatePartyId(int candidate) {
+        return this.buffer.getInt(this.candidatePartiesStart + candidate * Integer.BYTES);
+    }
+
+    public int getCandidateVotes(int candidate) {
+        return this.buffer.getInt(this.candidateVotesStart + candidate * Integer.BYTES);
+    }
+
+    public String getCandidateName(int candidate) {
+        return getString(this.buffer.getInt(this.candidateNamesStart + candidate * Integer.BYTES));
+    }
+
+    public ProvinceTerritory getCandidateResidence(int candidate) {
+        return getProvince(this.buffer.get(this.candidateResidencesStart + candidate));
+    }
+
+    /**
+     * Rebuilds the ElectionSimulator stored in the snapshot. Parties are
+     * registered first, in order, so that they receive the same IDs as when
+     * the snapshot was written. Every riding and candidate is created again,
+     * so this takes time linear in the size of the election. Candidates whose
+     * party ID was -1 get a null party.
+     *
+     * @return a new ElectionSimulator containing the ridings and candidates of
+     *         the snapshot.
+     */
+    public ElectionSimulator toElectionSimulator() {
+        ElectionSimulator ed = new ElectionSimulator();
+
+        String[] partyNames = new String[this.numParties];
+        for (int i = 0; i < this.numParties; i++) {
+            partyNames[i] = getPartyName(i);
+        }
+        ed.getPartyRegistry().registerAll(partyNames);
+
+        for (int i = 0; i < this.numRidings; i++) {
+            int id = getRidingId(i);
+            ed.addRiding(new Riding(getRidingName(i), id, getRidingLocation(i), getRidingElectors(i)));
+
+            for (int c = getFirstCandidate(i); c < getFirstCandidate(i + 1); c++) {
+                int partyId = getCandidatePartyId(c);
+                String party = partyId == -1 ? null : partyNames[partyId];
+                ed.addCandidateToRiding(id,
+                        new Candidate(getCandidateName(c), party, getCandidateVotes(c), getCandidateResidence(c)));
+            }
+        }
+
+        return ed;
+    }
+
+    /**
+     * Decodes the string at a given offset of the string heap.
+     *
+     * @param offset the offset of the string from the start of the heap.
+     * @return the decoded string.
+     */
+    private String getString(int offset) {
+        int position = this.stringHeapStart + offset;
+        int length = this.buffer.getInt(position);
+        byte[] bytes = new byte[length];
+        this.buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the province/territory at a given index of
+     * ProvinceTerritory.ALL_PROVINCES, or null if the index is -1.
+     *
+     * @param index the index of the province/territory.
+     * @return the province/territory at that index, or null.
+     */
+    private static ProvinceTerritory getProvince(int index) {
+        ProvinceTerritory province = null;
+
+        if (index >= 0) {
+            province = ProvinceTerritory.ALL_PROVINCES[index];
+        }
+
+        return province;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * ElectionState.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 36
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: An immutable, versioned snapshot of an election, published
+ *          by an ElectionSimulator so that many threads can query results
+ *          while another thread keeps adding ridings, candidates, and votes.
+ *          Contains frozen copies of the ridings, a frozen copy of the
+ *          PartyRegistry, an index of riding positions, and a VoteTally built
+ *          and frozen when the state is published. Since nothing in a state
+ *          changes once it is published, readers never need a lock and every
+ *          query on the same state sees the same election. Provides getter
+ *          methods for the version, ridings, parties, and tally, and the same
+ *          result methods as ElectionSimulator.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+public class ElectionState {
+    private long version;
+    private ArrayList<Riding> ridings;
+    private HashMap<Integer, Integer> ridingPositions;
+    private PartyRegistry parties;
+    private VoteTally tally;
+
+    /**
+     * Constructs a new ElectionState from frozen ridings. The state takes
+     * ownership of the given list, index, and registry, which must not be
+     * changed afterwards, and builds its vote tally from them. The registry
+     * and tally are frozen, so that they can't be changed through the
+     * state's getters either.
+     *
+     * @param version         the version of the state.
+     * @param ridings         the frozen ridings of the election.
+     * @param ridingPositions the position of each riding, by ID.
+     * @param parties         a copy of the election's PartyRegistry.
+     * @param parallel        whether the vote tally should be built in
+     *                        parallel.
+     */
+    ElectionState(long version, ArrayList<Riding> ridings, HashMap<Integer, Integer> ridingPositions,
+            PartyRegistry parties, boolean parallel) {
+        this.version = version;
+        this.ridings = ridings;
+        this.ridingPositions = ridingPositions;
+        this.parties = parties;
+        this.parties.freeze();
+        this.tally = new VoteTally(ridings, parties, parallel);
+        this.tally.freeze();
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public List<Riding> getRidings() {
+        return Collections.unmodifiableList(this.ridings);
+    }
+
+    public PartyRegistry getPartyRegistry() {
+        return this.parties;
+    }
+
+    public VoteTally getTally() {
+        return this.tally;
+    }
+
+    /**
+     * Returns the riding matching the given ID if such a riding exists; returns
+     * null otherwise.
+     *
+     * @param riding the ID of the riding.
+     * @return the riding matching the given ID if such a riding exists;
+     *         null otherwise.
+     */
+    public Riding findRiding(int riding) {
+        Riding returnVal = null;
+        Integer position = this.ridingPositions.get(riding);
+
+        if (position != null) {
+            returnVal = this.ridings.get(position);
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns true if at least one riding has ranked ballots.
+     *
+     * @return true if some riding has ranked ballots; false otherwise.
+     */
+    public boolean hasRankedBallots() {
+        boolean returnVal = false;
+
+        for (int i = 0; i < this.ridings.size() && !returnVal; i++) {
+            returnVal = this.ridings.get(i).getBallots() != null;
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the total number of votes won by each party nationally.
+     *
+     * @return an ArrayList of PartyResult containing each party's vote total.
+     */
+    public ArrayList<PartyResult> getTotalVotesPerPartyNational() {
+        return this.tally.getTotalVotesPerParty();
+    }
+
+    /**
+     * Returns the name of the party with the most votes nationally.
+     *
+     * @return the name of the winning party, or null if no party has a
+     *         candidate.
+     */
+    public String getNPVWinner() {
+        return this.tally.getNPVWinner();
+    }
+
+    /**
+     * Returns the number of seats each party wins under first-past-the-post.
+     *
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party.
+     */
+    public ArrayList<PartyResult> getFPTPSeatDistribution() {
+        return this.tally.getFPTPSeatDistribution();
+    }
+
+    /**
+     * Returns the number of seats each party wins under proportional
+     * representation, with each party's share rounded to the nearest seat.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats) {
+        return this.tally.getPRSeatDistribution(totalSeats);
+    }
+
+    /**
+     * Returns the number of seats each party wins under proportional
+     * representation, with the seats allocated by a given apportionment
+     * method.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats, int method) {
+        return this.tally.getPRSeatDistribution(totalSeats, method);
+    }
+
+    /**
+     * Returns the number of seats each party wins under mixed-member
+     * proportional representation.
+     *
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution() {
+        return this.tally.getMMPSeatDistribution();
+    }
+
+    /**
+     * Returns the number of seats each party wins under mixed-member
+     * proportional representation, with the PR seats allocated by a given
+     * apportionment method.
+     *
+     * @param method the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution(int method) {
+        return this.tally.getMMPSeatDistribution(method);
+    }
+
+    /**
+     * Returns the number of seats each party wins under weighted
+     * first-past-the-post.
+     *
+     * @param totalSeats the total number of seats available in the election.
+     * @return an ArrayList of PartyResult containing the weighted seats won by
+     *         each party.
+     */
+    public ArrayList<PartyResult> getWeightedFPTPSeatDistribution(int totalSeats) {
+        return this.tally.getWeightedFPTPSeatDistribution(totalSeats);
+    }
+
+    /**
+     * Returns the k ridings with the highest value of a given metric, highest
+     * first.
+     *
+     * @param ranking the metric by which ridings are ranked.
+     * @param k       the number of ridings to return.
+     * @return the k highest-ranked ridings, or fewer if fewer can be ranked.
+     */
+    public ArrayList<Riding> getTopRidings(RidingRanking ranking, int k) {
+        return ranking.select(this.ridings, k, true);
+    }
+
+    /**
+     * Returns the k ridings with the lowest value of a given metric, lowest
+     * first.
+     *
+     * @param ranking the metric by which ridings are ranked.
+     * @param k       the number of ridings to return.
+     * @return the k lowest-ranked ridings, or fewer if fewer can be ranked.
+     */
+    public ArrayList<Riding> getBottomRidings(RidingRanking ranking, int k) {
+        return ranking.select(this.ridings, k, false);
+    }
+}
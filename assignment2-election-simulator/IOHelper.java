@@ -12,37 +12,53 @@
  *          PURPOSE: Serves as a tool to populate an ElectionSimulator with 
  *          ridings and candidates created based on information read from given 
  *          CSV files, then write the output of an election under several systems
- *          to an output file. Provides methods to load candidates and ridings
- *          from CSV files, get the highest and lowest turnout ridings in the
- *          election, and get a list of candidates who reside outside of their
- *          riding. Also includes private helper methods to validate and parse
- *          input, print seat distributions, print the top two parties under any
- *          given system, and verify whether a province or a riding exists.
+ *          to an output file, as a text summary or in CSV, JSON Lines, or
+ *          binary form through an iResultsWriter, optionally with the results
+ *          of every riding, and export the detailed results of each riding,
+ *          optionally compressed with gzip. Provides methods to load candidates
+ *          and ridings from CSV files, get the highest and lowest turnout
+ *          ridings in the election, describe the top or bottom ridings by any
+ *          RidingRanking metric, and get a list of candidates who reside
+ *          outside of their riding. Also includes private helper methods to
+ *          validate and parse input and verify whether a province or a riding
+ *          exists. CSV files are streamed through a CSVReader, so fields are
+ *          checked and integers parsed directly from the bytes of each line.
  * 
  *          NOTE: the skeleton of this class was provided as a template by
  *          instructor Simon Wermie. Implementation logic was written by me.
  *          
  */
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
 
 public class IOHelper {
 
     public static final int ROW_START = 2;
     public static final int NUM_FIELDS_RIDING = 4;
     public static final int NUM_FIELDS_CANDIDATE = 6;
+    public static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    public static final int CANDIDATE_BATCH_SIZE = 4096;
 
     /**
      * Creates new candidates and adds them to an ElectionSimulator using input
      * from a CSV file. Checks that the given name of the file is valid and that
      * the current line of the file is valid, then creates a new Candidate
      * with a name, party, vote count, and province/territory of residence, and
-     * adds it to the riding of the candidate. For an invalid file name, an
+     * adds it to the riding of the candidate. The file is streamed in batches
+     * of lines: each batch is parsed and validated on the common ForkJoinPool
+     * while the next one is read, then its rows are added to ed in order while
+     * the next one is parsed. Errors are reported for the same row as if the
+     * rows were handled one at a time. Only the fields that are kept are
+     * decoded into Strings. For an invalid file name, an
      * IllegalArgumentException is thrown. For an invalid line of input, a
      * MalformedDataException is thrown.
      * 
@@ -66,53 +82,62 @@ public class IOHelper {
         // Perform validation checks on the given file name.
         validateString(csvFile, "File name");
 
-        BufferedReader br = new BufferedReader(new FileReader(csvFile));
+        // Give each valid party an ID before any candidate is added, so that
+        // IDs follow the order of the party list.
+        ed.getPartyRegistry().registerAll(parties);
 
-        int row = ROW_START;
-        String line = br.readLine();
-        line = br.readLine(); // Skip the header.
-        while (line != null) {
-            String[] tokens = line.split(",");
-
-            // Check that the line is formatted properly.
-            validateLineCandidate(tokens, row);
-
-            // Check that the given ProvinceTerritory exists for both the riding
-            // of the candidate and their residence.
-            provinceExists(tokens[0], row);
-            ProvinceTerritory residence = provinceExists(tokens[4], row);
+        PartyMatcher matcher = new PartyMatcher(parties);
+        CSVReader reader = new CSVReader(csvFile);
+        try {
+            CSVLine line = new CSVLine();
+            CSVLine[][] batches = { newLineBatch(), newLineBatch() };
+            CandidateBatchTask pending = null;
+            IOException readError = null;
+            int row = ROW_START;
+            int current = 0;
+            boolean done = false;
+
+            reader.readLine(line); // Skip the header.
+            while (!done) {
+                // Copy the next batch of lines out of the reader's buffer,
+                // while the previous batch is parsed on the pool. A read error
+                // ends the file after the lines read before it.
+                CSVLine[] batch = batches[current];
+                int count = 0;
+                try {
+                    while (count < batch.length && reader.readLine(line)) {
+                        batch[count].copyFrom(line);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    readError = e;
+                }
+                done = count < batch.length || readError != null;
 
-            // Check that the given party exists. If so, separate the party name
-            // from the candidate's name.
-            String[] nameAndParty = parseCandidateNameAndParty(tokens[3], parties, row);
-            String candidateName = nameAndParty[0];
-            String party = nameAndParty[1];
+                CandidateBatchTask task = null;
+                if (count > 0) {
+                    task = new CandidateBatchTask(batch, count, row, matcher);
+                    ForkJoinPool.commonPool().execute(task);
+                    row += count;
+                }
 
-            // Check that the candidate name is not empty or only whitespace.
-            if (candidateName.trim().equals("")) {
-                throw new MalformedDataException(row, "Missing candidate name: " + tokens[3]);
+                // Add the previous batch while this one is parsed. Its lines
+                // are then free to be read into again.
+                if (pending != null) {
+                    addCandidateBatch(ed, pending);
+                }
+                pending = task;
+                current = 1 - current;
             }
-
-            // Check that the given riding exists and corresponds to the given
-            // ID.
-            String ridingName = tokens[1];
-            int ridingID = Integer.parseInt(tokens[2]);
-            ridingExists(ridingName, ridingID, ed.getRidings(), row, candidateName);
-
-            // Attempt to add the candidate.
-            int numVotes = Integer.parseInt(tokens[5]);
-            boolean addedCandidate = ed.addCandidateToRiding(ridingID,
-                    new Candidate(candidateName, party, numVotes, residence));
-            if (!addedCandidate) {
-                throw new MalformedDataException(row,
-                        "Failed to add candidate " + candidateName + " to " + ridingName + " " + ridingID);
+            if (pending != null) {
+                addCandidateBatch(ed, pending);
             }
-
-            line = br.readLine();
-            row++;
+            if (readError != null) {
+                throw readError;
+            }
+        } finally {
+            reader.close();
         }
-
-        br.close();
     }
 
     /**
@@ -120,8 +145,9 @@ public class IOHelper {
      * from a CSV file. Checks that the given name of the file is valid and
      * that the current line of the file is valid, then creates a new Riding
      * with a name, ProvinceTerritory, ID, and elector count, and adds it
-     * to the given ElectionSimulator. For an invalid file name, an
-     * IllegalArgumentException is thrown. For an invalid line of input,
+     * to the given ElectionSimulator. The file is streamed line by line, and
+     * only the fields that are kept are decoded into Strings. For an invalid
+     * file name, an IllegalArgumentException is thrown. For an invalid line of input,
      * a MalformedDataException is thrown.
      * 
      * @param ed      the ElectionSimulator to be populated.
@@ -139,41 +165,131 @@ public class IOHelper {
         // Perform validation checks on the given file name.
         validateString(csvFile, "File name");
 
-        BufferedReader br = new BufferedReader(new FileReader(csvFile));
+        CSVReader reader = new CSVReader(csvFile);
+        try {
+            CSVLine line = new CSVLine();
+            int row = ROW_START;
+            reader.readLine(line); // Skip the header.
+            while (reader.readLine(line)) {
+                addRiding(ed, parseRidingLine(line, row), row);
+                row++;
+            }
+        } finally {
+            reader.close();
+        }
+    }
 
-        int row = ROW_START;
-        String line = br.readLine();
-        line = br.readLine(); // Skip the header.
-        while (line != null) {
-            String[] tokens = line.split(",");
+    /**
+     * Creates new ridings and adds them to an ElectionSimulator using input
+     * from several CSV files, such as one file per province/territory. The
+     * files are parsed and validated at the same time on the common
+     * ForkJoinPool, then their ridings are added to ed one file at a time, in
+     * the given order. Errors are therefore reported exactly as if the files
+     * had been loaded one after the other with loadRidingsFromCSV(): the first
+     * malformed row or conflicting riding ID, in file order, is reported along
+     * with the name of its file. Read errors also include the name of the file.
+     * 
+     * @param ed       the ElectionSimulator to be populated.
+     * @param csvFiles the CSV files from which riding information is read.
+     * @throws IOException            if any file cannot be read properly.
+     * @throws MalformedDataException if any line of any file is malformed (as
+     *                                described in loadRidingsFromCSV()), or if
+     *                                a riding ID appears more than once.
+     */
+    public static void loadRidingsFromCSVFiles(ElectionSimulator ed, String[] csvFiles)
+            throws IOException, MalformedDataException {
+        ArrayList<CSVParseTask> tasks = parseCSVFiles(csvFiles, null);
+
+        for (CSVParseTask currTask : tasks) {
+            int row = ROW_START;
+            try {
+                for (Riding currRiding : currTask.getRidings()) {
+                    addRiding(ed, currRiding, row);
+                    row++;
+                }
+                throwParseErrors(currTask);
+            } catch (MalformedDataException e) {
+                throw addFilename(currTask.getFilename(), row, e);
+            }
+        }
+    }
+
+    /**
+     * Creates new candidates and adds them to an ElectionSimulator using input
+     * from several CSV files, such as one file per province/territory. The
+     * files are parsed and validated at the same time on the common
+     * ForkJoinPool, then their candidates are checked against the ridings of
+     * ed and added one file at a time, in the given order. Errors are
+     * therefore reported exactly as if the files had been loaded one after
+     * the other with loadCandidatesFromCSV(), along with the name of the file.
+     * Read errors also include the name of the file.
+     * 
+     * @param ed       an ElectionSimulator containing the ridings to be
+     *                 populated with candidates.
+     * @param csvFiles the CSV files from which candidate information is read.
+     * @param parties  the list of valid parties to which the candidates can
+     *                 belong.
+     * @throws IOException            if any file cannot be read properly.
+     * @throws MalformedDataException if any line of any file is malformed, or
+     *                                if a candidate can't be added to its
+     *                                riding (as described in
+     *                                loadCandidatesFromCSV()).
+     */
+    public static void loadCandidatesFromCSVFiles(ElectionSimulator ed, String[] csvFiles, String[] parties)
+            throws IOException, MalformedDataException {
+        ed.getPartyRegistry().registerAll(parties);
+        ArrayList<CSVParseTask> tasks = parseCSVFiles(csvFiles, new PartyMatcher(parties));
+
+        for (CSVParseTask currTask : tasks) {
+            int row = ROW_START;
+            try {
+                for (CandidateRow currRow : currTask.getCandidates()) {
+                    addCandidateRow(ed, currRow, row);
+                    row++;
+                }
+                throwParseErrors(currTask);
+            } catch (MalformedDataException e) {
+                throw addFilename(currTask.getFilename(), row, e);
+            }
+        }
+    }
 
-            // Check that the line is formatted properly.
-            validateLineRiding(tokens, row);
+    /**
+     * Returns the paths of every file in a given directory whose name ends
+     * with a given suffix (for example, "ridings.csv" to find
+     * "mb_ridings.csv", "on_ridings.csv", and so on), sorted by name so that
+     * the load order doesn't depend on the file system.
+     * 
+     * @param directory the directory to be searched.
+     * @param suffix    the suffix of the files to be returned.
+     * @return the sorted paths of the matching files.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static String[] findCSVFiles(String directory, String suffix) throws IOException {
+        validateString(directory, "Directory name");
 
-            // Check that the given ProvinceTerritory exists.
-            ProvinceTerritory location = provinceExists(tokens[0], row);
+        File[] files = new File(directory).listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list directory " + directory + ".");
+        }
 
-            // Attempt to add the riding.
-            String ridingName = tokens[1];
-            int ridingID = Integer.parseInt(tokens[2]);
-            int electorCount = Integer.parseInt(tokens[3]);
-            boolean addedRiding = ed.addRiding(new Riding(ridingName, ridingID, location, electorCount));
-            if (!addedRiding) {
-                throw new MalformedDataException(row, "Failed to add riding " + ridingName + ".");
+        ArrayList<String> matches = new ArrayList<String>();
+        for (File currFile : files) {
+            if (currFile.isFile() && currFile.getName().endsWith(suffix)) {
+                matches.add(currFile.getPath());
             }
-
-            line = br.readLine();
-            row++;
         }
+        Collections.sort(matches);
 
-        br.close();
+        return matches.toArray(new String[0]);
     }
 
     /**
      * Writes election results under five different systems (national popular
      * vote, first-past-the-post, proportional representation, mixed-member
      * representation, and weighted first-past-the-post) to an output file with
-     * a given name. Includes the total vote count for each party, the seat
+     * a given name, plus instant-runoff voting if any riding has ranked
+     * ballots. Includes the total vote count for each party, the seat
      * distributions under each system, and the winner and runner-up under each
      * system.
      * 
@@ -184,49 +300,244 @@ public class IOHelper {
      * @throws IOException if the file cannot be written to properly.
      */
     public static void writeResultsToFile(ElectionSimulator ed, String filename, int totalSeats) throws IOException {
+        writeResultsToFile(ed, filename, totalSeats, iResultsWriter.TEXT, false);
+    }
+
+    /**
+     * Writes election results to an output file with a given name in a given
+     * format, optionally followed by the results of every riding. The file is
+     * written through a buffered stream as the results are computed.
+     * 
+     * @param ed             the ElectionSimulator used to simulate the
+     *                       election under each system.
+     * @param filename       the name of the file to which output should be
+     *                       written.
+     * @param totalSeats     the total number of seat available in the
+     *                       election.
+     * @param format         the format of the file, as defined in
+     *                       iResultsWriter.
+     * @param includeRidings whether the results of every riding should be
+     *                       written.
+     * @throws IOException if the file cannot be written to properly.
+     */
+    public static void writeResultsToFile(ElectionSimulator ed, String filename, int totalSeats, int format,
+            boolean includeRidings) throws IOException {
+        // Perform validation checks on the given file name.
+        validateString(filename, "File name");
+
+        OutputStream out = openOutputStream(filename);
+        iResultsWriter writer;
+        try {
+            writer = createResultsWriter(format, out);
+        } catch (IOException | IllegalArgumentException e) {
+            out.close();
+            throw e;
+        }
+        writeResults(ed, writer, totalSeats, includeRidings);
+    }
+
+    /**
+     * Writes election results to a given iResultsWriter, then closes it. The
+     * sections are written in order: the total vote count for each party,
+     * the NPV winner, the seat distributions under FPTP, PR, MMP, and W-FPTP
+     * (and IRV if any riding has ranked ballots), then optionally each riding
+     * in turn. Ridings are streamed straight to the writer, so memory use
+     * doesn't grow with the number of ridings.
+     * 
+     * @param ed             the ElectionSimulator used to simulate the
+     *                       election under each system.
+     * @param writer         the writer to which the results are written.
+     * @param totalSeats     the total number of seat available in the
+     *                       election.
+     * @param includeRidings whether the results of every riding should be
+     *                       written.
+     * @throws IOException if the results cannot be written.
+     */
+    public static void writeResults(ElectionSimulator ed, iResultsWriter writer, int totalSeats,
+            boolean includeRidings) throws IOException {
+        try {
+            // Every section is computed from the same vote tally, so the
+            // ridings are only walked once, and sections computed before are
+            // taken from the simulator's result cache.
+            VoteTally tally = ed.getTally();
+
+            writer.writeTotalVotes(ed.getTotalVotesPerPartyNational());
+            writer.writeNPVWinner(1, ed.getNPVWinner());
+            writer.writeSeatDistribution(2, "First-Past-The-Post (FPTP)", ed.getFPTPSeatDistribution());
+            writer.writeSeatDistribution(3, "Proportional Representation (PR)", ed.getPRSeatDistribution(totalSeats));
+            writer.writeSeatDistribution(4, "Mixed-Member Proportional (MMP)", ed.getMMPSeatDistribution());
+            writer.writeSeatDistribution(5, "Weighted FPTP (W-FPTP)", ed.getWeightedFPTPSeatDistribution(totalSeats));
+            if (ed.hasRankedBallots()) {
+                writer.writeSeatDistribution(6, "Instant-Runoff Voting (IRV)", ed.getIRVSeatDistribution());
+            }
+
+            if (includeRidings) {
+                PartyRegistry parties = tally.getPartyRegistry();
+                ArrayList<Riding> ridings = ed.getRidings();
+                for (int i = 0; i < ridings.size(); i++) {
+                    int winner = tally.getRidingWinner(i);
+                    writer.writeRiding(ridings.get(i), winner == -1 ? "N/A" : parties.getPartyName(winner));
+                }
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the detailed results of every riding to an output file with a
+     * given name: for each party that ran a candidate in a riding, its votes,
+     * share of the votes, whether it won, and its margin. The records are
+     * streamed from the vote tally one riding at a time, in CSV or JSON Lines,
+     * and can be compressed with gzip as they are written.
+     * 
+     * @param ed       the ElectionSimulator containing the ridings.
+     * @param filename the name of the file to which output should be written.
+     * @param format   the format of the file, either iResultsWriter.CSV or
+     *                 iResultsWriter.JSONL.
+     * @param gzip     whether the file should be compressed with gzip.
+     * @throws IOException if the file cannot be written to properly.
+     */
+    public static void writeRidingDetailsToFile(ElectionSimulator ed, String filename, int format, boolean gzip)
+            throws IOException {
         // Perform validation checks on the given file name.
         validateString(filename, "File name");
 
-        PrintWriter pw = new PrintWriter(new File(filename));
+        OutputStream out = openOutputStream(filename, gzip);
+        RidingDetailWriter writer;
+        try {
+            writer = new RidingDetailWriter(out, format);
+        } catch (IllegalArgumentException e) {
+            out.close();
+            throw e;
+        }
+
+        try {
+            VoteTally tally = ed.getTally();
+            ArrayList<Riding> ridings = ed.getRidings();
+            for (int i = 0; i < ridings.size(); i++) {
+                writer.writeRiding(ridings.get(i), tally, i);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Compares two elections and writes the comparison to an output file with
+     * a given name: for each riding found in both elections, the change in
+     * each party's share of the votes and whether its winner flipped, then
+     * the national changes in votes, shares, and seats of each party. Ridings
+     * are joined on their ID, and the records are streamed in CSV or JSON
+     * Lines as the comparison goes, optionally compressed with gzip.
+     * 
+     * @param before   the first election.
+     * @param after    the second election.
+     * @param filename the name of the file to which output should be written.
+     * @param format   the format of the file, either iResultsWriter.CSV or
+     *                 iResultsWriter.JSONL.
+     * @param gzip     whether the file should be compressed with gzip.
+     * @return the comparison of the two elections.
+     * @throws IOException if the file cannot be written to properly.
+     */
+    public static ElectionComparison writeComparisonToFile(ElectionSimulator before, ElectionSimulator after,
+            String filename, int format, boolean gzip) throws IOException {
+        // Perform validation checks on the given file name.
+        validateString(filename, "File name");
+
+        OutputStream out = openOutputStream(filename, gzip);
+        ComparisonWriter writer;
+        try {
+            writer = new ComparisonWriter(out, format);
+        } catch (IllegalArgumentException e) {
+            out.close();
+            throw e;
+        }
+
+        ElectionComparison comparison;
+        try {
+            comparison = ElectionComparison.compare(before, after, writer);
+        } finally {
+            writer.close();
+        }
 
-        // Print header.
-        pw.println("Election Results Summary");
-        pw.println("=========================");
+        return comparison;
+    }
 
-        // Print total votes per party.
-        pw.println("Total Votes per Party:");
-        ArrayList<PartyResult> totalVotesPerParty = ed.getTotalVotesPerPartyNational();
-        printSeatDistribution(totalVotesPerParty, pw);
+    /**
+     * Creates an iResultsWriter for a given format on a given output stream.
+     * 
+     * @param format the format of the results, as defined in iResultsWriter.
+     * @param out    the stream to which the results are written.
+     * @return a writer for the given format.
+     * @throws IOException              if the output cannot be written to.
+     * @throws IllegalArgumentException if the format is unknown.
+     */
+    public static iResultsWriter createResultsWriter(int format, OutputStream out) throws IOException {
+        iResultsWriter writer;
+
+        if (format == iResultsWriter.TEXT) {
+            writer = new TextResultsWriter(out);
+        } else if (format == iResultsWriter.CSV) {
+            writer = new CSVResultsWriter(out);
+        } else if (format == iResultsWriter.JSONL) {
+            writer = new JSONLResultsWriter(out);
+        } else if (format == iResultsWriter.BINARY) {
+            writer = new BinaryResultsWriter(out);
+        } else {
+            throw new IllegalArgumentException("Unknown results format: " + format);
+        }
 
-        // Print NPV winner.
-        pw.println("Method #1 - NPV Winner: " + ed.getNPVWinner());
-        pw.println();
+        return writer;
+    }
 
-        // Print FPTP seat distribution, winner, and runner-up.
-        pw.println("Method #2 - First-Past-The-Post (FPTP):");
-        ArrayList<PartyResult> fptpSeats = ed.getFPTPSeatDistribution();
-        printSeatDistribution(fptpSeats, pw);
-        printTopTwo(fptpSeats, pw);
+    /**
+     * Opens a buffered output stream to a file with a given name, creating
+     * the file or replacing its contents.
+     * 
+     * @param filename the name of the file.
+     * @return a buffered stream to the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static OutputStream openOutputStream(String filename) throws IOException {
+        return openOutputStream(filename, false);
+    }
 
-        // Print PR seat distribution, winner, and runner-up.
-        pw.println("Method #3 - Proportional Representation (PR):");
-        ArrayList<PartyResult> prSeats = ed.getPRSeatDistribution(totalSeats);
-        printSeatDistribution(prSeats, pw);
-        printTopTwo(prSeats, pw);
+    /**
+     * Opens a buffered output stream to a file with a given name, creating
+     * the file or replacing its contents, and optionally compressing what is
+     * written with gzip.
+     * 
+     * @param filename the name of the file.
+     * @param gzip     whether the output should be compressed with gzip.
+     * @return a buffered stream to the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static OutputStream openOutputStream(String filename, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(Paths.get(filename));
+        if (gzip) {
+            out = new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE);
+        }
+        return new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+    }
 
-        // Print MMP seat distribution, winner, and runner-up.
-        pw.println("Method #4 - Mixed-Member Proportional (MMP):");
-        ArrayList<PartyResult> mmpSeats = ed.getMMPSeatDistribution();
-        printSeatDistribution(mmpSeats, pw);
-        printTopTwo(mmpSeats, pw);
+    /**
+     * Formats a count for machine-readable output: whole numbers without a
+     * decimal part, and other numbers in full precision.
+     * 
+     * @param count the count to be formatted.
+     * @return the formatted count.
+     */
+    static String formatNumber(double count) {
+        String returnVal;
 
-        // Print weighted FPTP seat distribution, winner, and runner-up.
-        pw.println("Method #5 - Weighted FPTP (W-FPTP):");
-        ArrayList<PartyResult> weightedSeats = ed.getWeightedFPTPSeatDistribution(totalSeats);
-        printSeatDistribution(weightedSeats, pw);
-        printTopTwo(weightedSeats, pw);
+        if (count == Math.rint(count) && Math.abs(count) < 1e15) {
+            returnVal = String.valueOf((long) count);
+        } else {
+            returnVal = String.valueOf(count);
+        }
 
-        pw.close();
+        return returnVal;
     }
 
     /**
@@ -289,6 +600,53 @@ public class IOHelper {
         return returnVal;
     }
 
+    /**
+     * Returns a description of the k ridings with the highest or lowest value
+     * of a given metric (such as the 50 closest races or the 100 ridings with
+     * the lowest turnout), one riding per line in ranking order, including
+     * its name, province/territory abbreviation, and value.
+     * 
+     * @param simulator the ElectionSimulator containing the ridings.
+     * @param ranking   the metric by which ridings are ranked.
+     * @param k         the number of ridings to describe.
+     * @param highest   true to describe the highest values; false to describe
+     *                  the lowest.
+     * @return a description of the selected ridings, or "No valid ridings
+     *         found." if no riding can be ranked.
+     */
+    public static String getRidingRankingReport(ElectionSimulator simulator, RidingRanking ranking, int k,
+            boolean highest) {
+        ArrayList<Riding> selected;
+        if (highest) {
+            selected = simulator.getTopRidings(ranking, k);
+        } else {
+            selected = simulator.getBottomRidings(ranking, k);
+        }
+
+        String returnVal;
+        if (selected.size() > 0) {
+            StringBuilder report = new StringBuilder();
+            report.append(highest ? "Top " : "Bottom ").append(selected.size()).append(" Ridings by ")
+                    .append(RidingRanking.METRIC_NAMES[ranking.getMetric()]);
+            if (ranking.getMetric() == RidingRanking.PARTY_SHARE) {
+                report.append(" (").append(simulator.getPartyRegistry().getPartyName(ranking.getPartyId()))
+                        .append(")");
+            }
+            report.append(":");
+
+            for (int i = 0; i < selected.size(); i++) {
+                Riding currRiding = selected.get(i);
+                report.append(String.format("\n%d. %s(%s): %s", i + 1, currRiding.getName(),
+                        currRiding.getLocation().getAbbreviation(), ranking.formatValue(currRiding)));
+            }
+            returnVal = report.toString();
+        } else {
+            returnVal = "No valid ridings found.";
+        }
+
+        return returnVal;
+    }
+
     /**
      * Returns a list of every candidate in a given ElectionSimulator that
      * resides in a province different than that of their riding. Iterates
@@ -308,7 +666,7 @@ public class IOHelper {
         // from that of their riding and store them in an ArrayList.
         for (Riding currRiding : simulator.getRidings()) {
             String ridingLocation = currRiding.getLocation().getFullNameBilingual();
-            for (Candidate currCand : currRiding.getCandidates()) {
+            for (Candidate currCand : currRiding.getCandidateList()) {
                 String candidateLocation = currCand.getResidence().getFullNameBilingual();
                 if (!ridingLocation.equals(candidateLocation)) {
                     candidatesOutsideRiding.add(currCand);
@@ -331,7 +689,7 @@ public class IOHelper {
                 // find the one with the current candidate, then save the
                 // information from that riding.
                 for (Riding currRiding : simulator.getRidings()) {
-                    for (Candidate comparedCandidate : currRiding.getCandidates()) {
+                    for (Candidate comparedCandidate : currRiding.getCandidateList()) {
                         if (comparedCandidate.getName().equals(currCandidate.getName())) {
                             riding = currRiding.getName();
                             ridingProvince = currRiding.getLocation().getAbbreviation();
@@ -362,53 +720,267 @@ public class IOHelper {
         }
     }
 
+    /**
+     * Parses and validates a line whose purpose is to create a new Riding,
+     * then creates the Riding without adding it to any ElectionSimulator.
+     * 
+     * @param line the line read from the CSV file.
+     * @param row  the row of the CSV file from which the line was read.
+     * @return the Riding described by the line.
+     * @throws MalformedDataException if the line contains missing, empty, or
+     *                                blank fields, if the riding ID and elector
+     *                                count aren't non-negative integers, or if
+     *                                the province specified doesn't exist.
+     */
+    static Riding parseRidingLine(CSVLine line, int row) throws MalformedDataException {
+        // Check that the line is formatted properly.
+        validateLineRiding(line, row);
+
+        // Check that the given ProvinceTerritory exists.
+        ProvinceTerritory location = provinceExists(line, 0, row);
+
+        String ridingName = line.getField(1);
+        int ridingID = line.getIntField(2);
+        int electorCount = line.getIntField(3);
+
+        return new Riding(ridingName, ridingID, location, electorCount);
+    }
+
+    /**
+     * Parses and validates a line whose purpose is to create a new Candidate,
+     * then creates the Candidate without adding it to any ElectionSimulator.
+     * Whether the riding exists is checked when the row is added.
+     * 
+     * @param line    the line read from the CSV file.
+     * @param row     the row of the CSV file from which the line was read.
+     * @param parties the matcher built from the list of valid parties to
+     *                which the candidate can belong.
+     * @return the CandidateRow containing the candidate and its riding.
+     * @throws MalformedDataException if the line contains missing, empty, or
+     *                                blank fields, if the riding ID and vote
+     *                                count aren't non-negative integers, if the
+     *                                provinces specified don't exist, if the
+     *                                given party isn't found in parties, or if
+     *                                the candidate's name is missing.
+     */
+    static CandidateRow parseCandidateLine(CSVLine line, int row, PartyMatcher parties) throws MalformedDataException {
+        // Check that the line is formatted properly.
+        validateLineCandidate(line, row);
+
+        // Check that the given ProvinceTerritory exists for both the riding of
+        // the candidate and their residence.
+        provinceExists(line, 0, row);
+        ProvinceTerritory residence = provinceExists(line, 4, row);
+
+        // Check that the given party exists. If so, separate the party name
+        // from the candidate's name.
+        String candidateField = line.getField(3);
+        String[] nameAndParty = parseCandidateNameAndParty(candidateField, parties, row);
+        String candidateName = nameAndParty[0];
+        String party = nameAndParty[1];
+
+        // Check that the candidate name is not empty or only whitespace.
+        if (candidateName.trim().equals("")) {
+            throw new MalformedDataException(row, "Missing candidate name: " + candidateField);
+        }
+
+        String ridingName = line.getField(1);
+        int ridingID = line.getIntField(2);
+        int numVotes = line.getIntField(5);
+
+        return new CandidateRow(ridingName, ridingID, new Candidate(candidateName, party, numVotes, residence));
+    }
+
+    /**
+     * Adds a parsed riding to an ElectionSimulator. Throws a
+     * MalformedDataException if a riding with the same ID already exists.
+     * 
+     * @param ed     the ElectionSimulator to be populated.
+     * @param riding the riding to be added.
+     * @param row    the row of the CSV file from which the riding was read.
+     * @throws MalformedDataException if the riding already exists in ed.
+     */
+    private static void addRiding(ElectionSimulator ed, Riding riding, int row) throws MalformedDataException {
+        boolean addedRiding = ed.addRiding(riding);
+        if (!addedRiding) {
+            throw new MalformedDataException(row, "Failed to add riding " + riding.getName() + ".");
+        }
+    }
+
+    /**
+     * Adds a parsed candidate to its riding in an ElectionSimulator, after
+     * checking that the riding exists and corresponds to the given ID.
+     * 
+     * @param ed           the ElectionSimulator containing the candidate's
+     *                     riding.
+     * @param candidateRow the parsed row containing the candidate.
+     * @param row          the row of the CSV file from which the candidate
+     *                     was read.
+     * @throws MalformedDataException if the riding doesn't exist, or if the
+     *                                candidate can't be added to it.
+     */
+    private static void addCandidateRow(ElectionSimulator ed, CandidateRow candidateRow, int row)
+            throws MalformedDataException {
+        Candidate candidate = candidateRow.getCandidate();
+        String ridingName = candidateRow.getRidingName();
+        int ridingID = candidateRow.getRidingId();
+
+        // Check that the given riding exists and corresponds to the given ID.
+        ridingExists(ridingName, ridingID, ed, row, candidate.getName());
+
+        // Attempt to add the candidate.
+        boolean addedCandidate = ed.addCandidateToRiding(ridingID, candidate);
+        if (!addedCandidate) {
+            throw new MalformedDataException(row,
+                    "Failed to add candidate " + candidate.getName() + " to " + ridingName + " " + ridingID);
+        }
+    }
+
+    /**
+     * Creates the lines of one batch of a candidates file.
+     * 
+     * @return an array of CANDIDATE_BATCH_SIZE empty lines.
+     */
+    private static CSVLine[] newLineBatch() {
+        CSVLine[] batch = new CSVLine[CANDIDATE_BATCH_SIZE];
+
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new CSVLine();
+        }
+
+        return batch;
+    }
+
+    /**
+     * Waits for a batch of candidate rows to be parsed, then adds its rows to
+     * an ElectionSimulator in order. Stops at the first row that is malformed
+     * or can't be added, so that the same error is thrown for the same row as
+     * in a serial load.
+     * 
+     * @param ed   the ElectionSimulator to which candidates are added.
+     * @param task the parse task of the batch.
+     * @throws MalformedDataException if a row of the batch is malformed or its
+     *                                candidate can't be added.
+     */
+    private static void addCandidateBatch(ElectionSimulator ed, CandidateBatchTask task)
+            throws MalformedDataException {
+        task.join();
+
+        for (int i = 0; i < task.getCount(); i++) {
+            if (task.getError(i) != null) {
+                throw task.getError(i);
+            }
+            addCandidateRow(ed, task.getRow(i), task.getFirstRow() + i);
+        }
+    }
+
+    /**
+     * Parses every file in a given list at the same time on the common
+     * ForkJoinPool, and waits for all of them to finish.
+     * 
+     * @param csvFiles the CSV files to be parsed.
+     * @param parties  the matcher built from the list of valid parties, or
+     *                 null to parse ridings files.
+     * @return the task of each file, in the same order as csvFiles.
+     */
+    private static ArrayList<CSVParseTask> parseCSVFiles(String[] csvFiles, PartyMatcher parties) {
+        ArrayList<CSVParseTask> tasks = new ArrayList<CSVParseTask>();
+
+        for (String currFile : csvFiles) {
+            validateString(currFile, "File name");
+            tasks.add(new CSVParseTask(currFile, parties));
+        }
+        for (CSVParseTask currTask : tasks) {
+            ForkJoinPool.commonPool().execute(currTask);
+        }
+        for (CSVParseTask currTask : tasks) {
+            currTask.join();
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Throws the error that stopped a given parse task, if any. Read errors
+     * are thrown as an IOException naming the file, with the original error
+     * as its cause; malformed rows are thrown without the name of the file,
+     * which the caller adds.
+     * 
+     * @param task the finished parse task.
+     * @throws IOException            if the file couldn't be read.
+     * @throws MalformedDataException if the file contains a malformed row.
+     */
+    private static void throwParseErrors(CSVParseTask task) throws IOException, MalformedDataException {
+        if (task.getReadError() != null) {
+            throw new IOException("Cannot read " + task.getFilename() + ".", task.getReadError());
+        }
+        if (task.getMalformedData() != null) {
+            throw task.getMalformedData();
+        }
+    }
+
+    /**
+     * Returns an exception for the same row and problem as a given one, with
+     * the name of the file the row was read from added to its message. The
+     * given exception is kept as the cause.
+     * 
+     * @param filename the name of the file containing the malformed row.
+     * @param row      the row of the file that is malformed.
+     * @param e        the exception thrown for the row.
+     * @return the exception including the name of the file.
+     */
+    private static MalformedDataException addFilename(String filename, int row, MalformedDataException e) {
+        String message = e.getMessage();
+        String rowPrefix = "Row #" + row + ": ";
+
+        if (message.startsWith(rowPrefix)) {
+            message = message.substring(rowPrefix.length());
+        }
+        MalformedDataException returnVal = new MalformedDataException(row, filename + ": " + message);
+        returnVal.initCause(e);
+
+        return returnVal;
+    }
+
     /**
      * Performs validation checks on a line whose purpose is to create a new
      * Riding. Checks that the line contains four comma-separated fields that
      * aren't empty or only whitespace, and that the last two fields (riding ID
-     * and elector count) are non-negative integers.
+     * and elector count) are non-negative integers. Integers are checked and
+     * parsed directly from the bytes of the line.
      * 
-     * @param tokens an array of strings containing the tokens from the line.
-     * @param row    the row of the CSV file from which the line was read.
+     * @param line the line read from the CSV file.
+     * @param row  the row of the CSV file from which the line was read.
      * @throws MalformedDataException if the line contains missing, empty, or
      *                                blank fields, or if the riding ID and elector
      *                                count aren't non-negative
      *                                integers.
      */
-    private static void validateLineRiding(String[] tokens, int row) throws MalformedDataException {
+    private static void validateLineRiding(CSVLine line, int row) throws MalformedDataException {
         // Check that there are 4 fields.
-        if (tokens.length != NUM_FIELDS_RIDING) {
+        if (line.getFieldCount() != NUM_FIELDS_RIDING) {
             throw new MalformedDataException(row, "Row is malformed.");
         }
 
         // Check that none of the fields are empty or only whitespace.
-        for (String currField : tokens) {
-            if (currField.trim().equals("")) {
+        for (int i = 0; i < NUM_FIELDS_RIDING; i++) {
+            if (line.isBlankField(i)) {
                 throw new MalformedDataException(row, "Row contains empty field(s).");
             }
         }
 
-        // Check that the riding ID is an integer.
-        try {
-            Integer.parseInt(tokens[2]);
-        } catch (NumberFormatException e) {
-            throw new MalformedDataException(row, "Bad cast to integer.");
-        }
-
-        // Check that the elector count is an integer.
-        try {
-            Integer.parseInt(tokens[3]);
-        } catch (NumberFormatException e) {
+        // Check that the riding ID and the elector count are integers.
+        if (!line.isIntField(2) || !line.isIntField(3)) {
             throw new MalformedDataException(row, "Bad cast to integer.");
         }
 
         // Check that the riding ID is non-negative.
-        if (Integer.parseInt(tokens[2]) < 0) {
+        if (line.getIntField(2) < 0) {
             throw new MalformedDataException(row, "Riding ID must be non-negative.");
         }
 
         // Check that the elector count is non-negative.
-        if (Integer.parseInt(tokens[3]) < 0) {
+        if (line.getIntField(3) < 0) {
             throw new MalformedDataException(row, "Elector count must be non-negative.");
         }
 
@@ -418,80 +990,76 @@ public class IOHelper {
      * Performs validation checks on a line whose purpose is to create a new
      * Candidate. Checks that the line contains six comma-separated fields that
      * aren't empty or only whitespace, and that the third and sixth fields
-     * (riding ID and vote count) are non-negative integers.
+     * (riding ID and vote count) are non-negative integers. Integers are
+     * checked and parsed directly from the bytes of the line.
      * 
-     * @param tokens an array of strings containing the tokens from the line.
-     * @param row    the row of the CSV file from which the line was read.
+     * @param line the line read from the CSV file.
+     * @param row  the row of the CSV file from which the line was read.
      * @throws MalformedDataException if the line contains missing, empty, or
      *                                blank fields, or if the riding ID and vote
      *                                count aren't non-negative
      *                                integers.
      */
-    private static void validateLineCandidate(String[] tokens, int row) throws MalformedDataException {
-        // Check that there are 4 fields.
-        if (tokens.length != NUM_FIELDS_CANDIDATE) {
+    private static void validateLineCandidate(CSVLine line, int row) throws MalformedDataException {
+        // Check that there are 6 fields.
+        if (line.getFieldCount() != NUM_FIELDS_CANDIDATE) {
             throw new MalformedDataException(row, "Row is malformed.");
         }
 
         // Check that none of the fields are empty or only whitespace.
-        for (String currField : tokens) {
-            if (currField.trim().equals("")) {
+        for (int i = 0; i < NUM_FIELDS_CANDIDATE; i++) {
+            if (line.isBlankField(i)) {
                 throw new MalformedDataException(row, "Row contains empty field(s).");
             }
         }
 
-        // Check that the riding ID is an integer.
-        try {
-            Integer.parseInt(tokens[2]);
-        } catch (NumberFormatException e) {
-            throw new MalformedDataException(row, "Bad cast to integer.");
-        }
-
-        // Check that the vote count is an integer.
-        try {
-            Integer.parseInt(tokens[5]);
-        } catch (NumberFormatException e) {
+        // Check that the riding ID and the vote count are integers.
+        if (!line.isIntField(2) || !line.isIntField(5)) {
             throw new MalformedDataException(row, "Bad cast to integer.");
         }
 
         // Check that the riding ID is non-negative.
-        if (Integer.parseInt(tokens[2]) < 0) {
+        if (line.getIntField(2) < 0) {
             throw new MalformedDataException(row, "Riding ID must be non-negative.");
         }
 
         // Check that the vote count is non-negative.
-        if (Integer.parseInt(tokens[5]) < 0) {
+        if (line.getIntField(5) < 0) {
             throw new MalformedDataException(row, "Vote count must be non-negative.");
         }
 
     }
 
     /**
-     * Checks whether a province/territory with a given name exists in the
-     * ProvinceTerritory class. If not, throws a MalformedDataException.
+     * Checks whether a province/territory named by a given field of a line
+     * exists in the ProvinceTerritory class. If not, throws a
+     * MalformedDataException. The name is matched straight from the bytes of
+     * the line, and only decoded for the error message.
      * 
-     * @param provinceName the name of the province.
-     * @param row          the row of the CSV file from which the province was read.
+     * @param line  the line read from the CSV file.
+     * @param field the index of the field containing the name of the province.
+     * @param row   the row of the CSV file from which the line was read.
      * @throws MalformedDataException if no province/territory was found with
      *                                the given name.
-     * @return the ProvinceTerritory matching the given name, or null if no such
-     *         ProvinceTerritory was found.
+     * @return the ProvinceTerritory matching the given name.
      */
-    private static ProvinceTerritory provinceExists(String provinceName, int row) throws MalformedDataException {
-        ProvinceTerritory province = ProvinceTerritory.getProvinceMatch(provinceName);
+    private static ProvinceTerritory provinceExists(CSVLine line, int field, int row) throws MalformedDataException {
+        ProvinceTerritory province = line.getProvinceField(field);
         if (province == null) {
-            throw new MalformedDataException(row, "Unrecognized province: " + provinceName + ".");
+            throw new MalformedDataException(row, "Unrecognized province: " + line.getField(field) + ".");
         }
         return province;
     }
 
     /**
      * Checks whether a riding with a given name and a given ID exists in a
-     * given ArrayList of ridings. If not, throws a MalformedDataException.
+     * given ElectionSimulator. The riding is found by ID through the
+     * simulator's riding index, then its name is compared. If no match is
+     * found, throws a MalformedDataException.
      * 
      * @param name          the name of the riding.
      * @param id            the ID of the riding.
-     * @param ridings       the ArrayList of Riding to be searched.
+     * @param ed            the ElectionSimulator to be searched.
      * @param row           the row of the CSV file from which the riding name and
      *                      ID
      *                      were read.
@@ -500,17 +1068,11 @@ public class IOHelper {
      * @throws MalformedDataException if no riding is found with the given name
      *                                and ID.
      */
-    private static void ridingExists(String name, int id, ArrayList<Riding> ridings, int row, String candidateName)
+    private static void ridingExists(String name, int id, ElectionSimulator ed, int row, String candidateName)
             throws MalformedDataException {
-        boolean ridingExists = false;
-
-        for (Riding currRiding : ridings) {
-            if (currRiding.getId() == id && currRiding.getName().equals(name)) {
-                ridingExists = true;
-            }
-        }
+        Riding riding = ed.findRiding(id);
 
-        if (!ridingExists) {
+        if (riding == null || !riding.getName().equals(name)) {
             throw new MalformedDataException(row, "Failed to add " + candidateName + " to riding " + id + " " + name);
         }
     }
@@ -519,28 +1081,23 @@ public class IOHelper {
      * Splits an input string into an array of two strings: the name of a
      * candidate, and their party. Also checks if the input contains the name of a
      * valid party, and throws a MalformedDataException if that is not the
-     * case.
+     * case. If it contains several, the party that appears last in the list
+     * is used, starting from its first occurrence.
      * 
      * @param input   the string to be validated and/or split.
-     * @param parties the list of parties.
+     * @param parties the matcher built from the list of parties.
      * @param row     the row of the CSV file from which the input was read.
      * @return an array of strings with the name of the candidate at index 0,
      *         and the name of the party at index 1.
      * @throws MalformedDataException if the party name is invalid or missing
      *                                from the input.
      */
-    private static String[] parseCandidateNameAndParty(String input, String[] parties, int row)
+    private static String[] parseCandidateNameAndParty(String input, PartyMatcher parties, int row)
             throws MalformedDataException {
         String[] nameAndParty = new String[2];
-        int partyIndex = -1;
 
-        // Search the list of parties to check whether the input contains any
-        // of their names.
-        for (String currParty : parties) {
-            if (input.contains(currParty)) {
-                partyIndex = input.indexOf(currParty);
-            }
-        }
+        // Check whether the input contains the name of any party.
+        int partyIndex = parties.findPartyStart(input);
 
         // If the party name was found, split the input into an array of two
         // strings containing the name and the party of the candidate.
@@ -559,37 +1116,4 @@ public class IOHelper {
 
         return nameAndParty;
     }
-
-    /**
-     * Prints the seat distribution in a given ArrayList of PartyResult to an
-     * output file. Indents output and ends with a blank newline.
-     * 
-     * @param seats the seat distribution to be printed.
-     * @param pw    the PrintWriter used to print to the file.
-     */
-    private static void printSeatDistribution(ArrayList<PartyResult> seats, PrintWriter pw) {
-        for (PartyResult currParty : seats) {
-            pw.printf("\t%s: %.2f\n", currParty.getParty(), currParty.getCount());
-        }
-        pw.println();
-    }
-
-    /**
-     * Prints the winner and the runner-up in an election to an output file
-     * given an ArrayList of PartyResult containing the seat distribution.
-     * Indents output and ends with a blank newline.
-     * 
-     * @param seats the seat distribution of the election.
-     * @param pw    the PrintWriter used to print to the file.
-     */
-    private static void printTopTwo(ArrayList<PartyResult> seats, PrintWriter pw) {
-        String[] topTwo = PartyResult.getTopTwoPartyNames(seats);
-        if (!topTwo[0].equals("N/A") && !topTwo[1].equals("N/A")) {
-            pw.println("\tWinner: " + topTwo[0]);
-            pw.println("\tRunner-up: " + topTwo[1]);
-        } else if (!topTwo[0].equals("N/A")) {
-            pw.println("\tWinner: " + topTwo[0]);
-        }
-        pw.println();
-    }
 }
@@ -0,0 +1,159 @@
+/**
+ * JSONLResultsWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 33
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the results of an election in the JSON Lines
+ *          format: one JSON object per line, whose "type" field is "totals",
+ *          "npv", "seats", or "riding". Distributions are written as an array
+ *          of {"party", "count"} objects. Strings are escaped as required by
+ *          JSON. Output is encoded in UTF-8 and buffered.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+public class JSONLResultsWriter implements iResultsWriter {
+    private PrintWriter pw;
+
+    /**
+     * Constructs a new JSONLResultsWriter on a given output stream.
+     *
+     * @param out the stream to which the results are written.
+     */
+    public JSONLResultsWriter(OutputStream out) {
+        this.pw = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IOHelper.OUTPUT_BUFFER_SIZE));
+    }
+
+    /**
+     * Writes a "totals" object with the vote total of each party.
+     *
+     * @param totals the vote total of each party.
+     */
+    @Override
+    public void writeTotalVotes(ArrayList<PartyResult> totals) {
+        this.pw.write("{\"type\":\"totals\",\"results\":");
+        writeResults(totals);
+        this.pw.write("}\n");
+    }
+
+    /**
+     * Writes an "npv" object naming the winning party.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param winner       the name of the winning party.
+     */
+    @Override
+    public void writeNPVWinner(int methodNumber, String winner) {
+        this.pw.write("{\"type\":\"npv\",\"method\":" + methodNumber + ",\"winner\":");
+        writeString(this.pw, winner);
+        this.pw.write("}\n");
+    }
+
+    /**
+     * Writes a "seats" object with the seats won by each party under an
+     * electoral system.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param system       the name of the electoral system.
+     * @param seats        the number of seats won by each party.
+     */
+    @Override
+    public void writeSeatDistribution(int methodNumber, String system, ArrayList<PartyResult> seats) {
+        this.pw.write("{\"type\":\"seats\",\"method\":" + methodNumber + ",\"system\":");
+        writeString(this.pw, system);
+        this.pw.write(",\"results\":");
+        writeResults(seats);
+        this.pw.write("}\n");
+    }
+
+    /**
+     * Writes a "riding" object with the riding's ID, name, province/territory,
+     * electors, votes cast, and winning party.
+     *
+     * @param riding       the riding.
+     * @param winningParty the name of the party that won the riding.
+     */
+    @Override
+    public void writeRiding(Riding riding, String winningParty) {
+        this.pw.write("{\"type\":\"riding\",\"id\":" + riding.getId() + ",\"name\":");
+        writeString(this.pw, riding.getName());
+        this.pw.write(",\"province\":");
+        writeString(this.pw, riding.getLocation().getAbbreviation());
+        this.pw.write(",\"electors\":" + riding.getElectors() + ",\"votes\":" + riding.getTotalVotes()
+                + ",\"winner\":");
+        writeString(this.pw, winningParty);
+        this.pw.write("}\n");
+    }
+
+    /**
+     * Flushes the objects and closes the output.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        this.pw.close();
+        if (this.pw.checkError()) {
+            throw new IOException("Error writing the results.");
+        }
+    }
+
+    /**
+     * Writes a distribution as an array of {"party", "count"} objects.
+     *
+     * @param results the count of each party.
+     */
+    private void writeResults(ArrayList<PartyResult> results) {
+        this.pw.write('[');
+        for (int i = 0; i < results.size(); i++) {
+            if (i > 0) {
+                this.pw.write(',');
+            }
+            this.pw.write("{\"party\":");
+            writeString(this.pw, results.get(i).getParty());
+            this.pw.write(",\"count\":" + IOHelper.formatNumber(results.get(i).getCount()) + "}");
+        }
+        this.pw.write(']');
+    }
+
+    /**
+     * Writes a string to a given PrintWriter as a JSON string literal,
+     * escaping quotes, backslashes, and control characters.
+     *
+     * @param pw    the PrintWriter to which the string is written.
+     * @param value the string to be written.
+     */
+    static void writeString(PrintWriter pw, String value) {
+        // Write the characters between escapes in runs, rather than one at a
+        // time.
+        int runStart = 0;
+        pw.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                pw.write(value, runStart, i - runStart);
+                if (c < 0x20) {
+                    pw.write(String.format("\\u%04x", (int) c));
+                } else {
+                    pw.write('\\');
+                    pw.write(c);
+                }
+                runStart = i + 1;
+            }
+        }
+        pw.write(value, runStart, value.length() - runStart);
+        pw.write('"');
+    }
+}
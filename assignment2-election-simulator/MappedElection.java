@@ -0,0 +1,531 @@
+/**
+ * MappedElection.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 39
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Queries an election stored in an ElectionSnapshot file
+ *          without loading it onto the heap, so that many elections (such as
+ *          every election since 1867) can be kept open at once. The riding and
+ *          candidate columns stay in the memory-mapped file, and the operating
+ *          system only pages in the parts that are read; an election that
+ *          isn't queried costs no heap beyond its header. The results are
+ *          computed from per-party aggregates (vote totals, seats, electors
+ *          won) built by one pass over the numeric columns the first time they
+ *          are needed, and names are only decoded for the ridings that are
+ *          returned. Provides the same result methods as ElectionSimulator,
+ *          and methods to find a riding by ID or position, which return a
+ *          frozen copy of the riding built from the file.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class MappedElection {
+    private ElectionSnapshot snapshot;
+    private PartyRegistry parties;
+    private int numRidings;
+    private int numParties;
+
+    // Per party, computed on demand.
+    private long[] partyTotals;
+    private int[] candidateCounts;
+    private int[] seatsWon;
+    private long[] electorsWon;
+    private long totalElectors;
+
+    // Per party, computed on demand: its place in results, as in VoteTally.
+    // The rank of its first candidate (parties without candidates last, in ID
+    // order), and the position of the first riding (with electors) that it
+    // won.
+    private int[] seenRanks;
+    private int[] firstWins;
+    private int[] firstWeightedWins;
+
+    // The party IDs in order of their first candidate, computed on demand.
+    private int[] seenOrder;
+
+    // Riding IDs in ascending order, and the position of each, computed on
+    // demand.
+    private int[] sortedIds;
+    private int[] sortedPositions;
+
+    /**
+     * Constructs a new MappedElection over a given snapshot. Only the party
+     * names are read.
+     *
+     * @param snapshot the opened snapshot.
+     */
+    private MappedElection(ElectionSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.numRidings = snapshot.getNumRidings();
+        this.numParties = snapshot.getNumParties();
+
+        String[] partyNames = new String[this.numParties];
+        for (int i = 0; i < this.numParties; i++) {
+            partyNames[i] = snapshot.getPartyName(i);
+        }
+        this.parties = new PartyRegistry(partyNames);
+    }
+
+    /**
+     * Opens a snapshot file as a MappedElection. The file is mapped into
+     * memory, but nothing past its header and party names is read until a
+     * query needs it.
+     *
+     * @param filename the name of the snapshot file, as written by
+     *                 ElectionSnapshot.write().
+     * @return the opened election.
+     * @throws IOException if the file cannot be read or isn't a valid
+     *                     snapshot.
+     */
+    public static MappedElection open(String filename) throws IOException {
+        return new MappedElection(ElectionSnapshot.open(filename));
+    }
+
+    public ElectionSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    public PartyRegistry getPartyRegistry() {
+        return this.parties;
+    }
+
+    public int getNumRidings() {
+        return this.numRidings;
+    }
+
+    /**
+     * Returns a frozen copy of the riding at a given position of the file,
+     * with its candidates in the same order as when it was written.
+     *
+     * @param position the position of the riding, from 0 to the number of
+     *                 ridings (exclusive).
+     * @return the riding at that position.
+     */
+    public Riding getRiding(int position) {
+        Riding riding = new Riding(this.snapshot.getRidingName(position), this.snapshot.getRidingId(position),
+                this.snapshot.getRidingLocation(position), this.snapshot.getRidingElectors(position));
+
+        for (int c = this.snapshot.getFirstCandidate(position); c < this.snapshot.getFirstCandidate(position + 1); c++) {
+            int partyId = this.snapshot.getCandidatePartyId(c);
+            String party = partyId == -1 ? null : this.parties.getPartyName(partyId);
+            Candidate candidate = new Candidate(this.snapshot.getCandidateName(c), party,
+                    this.snapshot.getCandidateVotes(c), this.snapshot.getCandidateResidence(c));
+            candidate.setPartyId(partyId);
+            riding.addCandidate(candidate);
+        }
+        riding.freeze();
+
+        return riding;
+    }
+
+    /**
+     * Returns a frozen copy of the riding matching the given ID if such a
+     * riding exists; returns null otherwise. The riding is found by binary
+     * search in an index of the riding IDs, built the first time a riding is
+     * looked up.
+     *
+     * @param riding the ID of the riding.
+     * @return the riding matching the given ID if such a riding exists;
+     *         null otherwise.
+     */
+    public Riding findRiding(int riding) {
+        Riding returnVal = null;
+        int position = findRidingPosition(riding);
+
+        if (position != -1) {
+            returnVal = getRiding(position);
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the position in the file of the riding with a given ID.
+     *
+     * @param riding the ID of the riding.
+     * @return the position of the riding, or -1 if there is no such riding.
+     */
+    public synchronized int findRidingPosition(int riding) {
+        if (this.sortedIds == null) {
+            buildRidingIndex();
+        }
+
+        int returnVal = -1;
+        int index = Arrays.binarySearch(this.sortedIds, riding);
+        if (index >= 0) {
+            returnVal = this.sortedPositions[index];
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the total number of votes won by each party nationally, in the
+     * order in which their first candidate appears.
+     *
+     * @return an ArrayList of PartyResult containing each party's vote total.
+     */
+    public ArrayList<PartyResult> getTotalVotesPerPartyNational() {
+        tally();
+        ArrayList<PartyResult> results = new ArrayList<PartyResult>();
+
+        for (int party : this.seenOrder) {
+            if (this.candidateCounts[party] > 0) {
+                PartyResult currParty = new PartyResult(this.parties.getPartyName(party));
+                currParty.increment(this.partyTotals[party]);
+                results.add(currParty);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the name of the party with the most votes nationally. If several
+     * parties are tied, the one whose first candidate appears earliest is
+     * returned.
+     *
+     * @return the name of the party with the most votes, or null if no party
+     *         has any candidates.
+     */
+    public String getNPVWinner() {
+        tally();
+        int winner = -1;
+
+        for (int party : this.seenOrder) {
+            if (this.candidateCounts[party] > 0
+                    && (winner == -1 || this.partyTotals[party] > this.partyTotals[winner])) {
+                winner = party;
+            }
+        }
+
+        String party = null;
+        if (winner != -1) {
+            party = this.parties.getPartyName(winner);
+        }
+
+        return party;
+    }
+
+    /**
+     * Returns the number of seats each party wins under first-past-the-post.
+     *
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getFPTPSeatDistribution() {
+        tally();
+        return toPartyResults(this.seatsWon, null, this.firstWins);
+    }
+
+    /**
+     * Returns the number of seats each party wins under proportional
+     * representation, with each party's share rounded to the nearest seat.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats) {
+        return getPRSeatDistribution(totalSeats, Apportionment.ROUNDED);
+    }
+
+    /**
+     * Returns the number of seats each party wins under proportional
+     * representation, with the seats allocated by a given apportionment
+     * method.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats, int method) {
+        tally();
+        int[] seats = new int[this.numParties];
+        Apportionment.allocate(method, this.partyTotals, totalSeats, seats);
+        return toPartyResults(seats, null, this.seenRanks);
+    }
+
+    /**
+     * Returns the number of seats each party wins under mixed-member
+     * proportional representation.
+     *
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution() {
+        return getMMPSeatDistribution(Apportionment.ROUNDED);
+    }
+
+    /**
+     * Returns the number of seats each party wins under mixed-member
+     * proportional representation, with the PR seats allocated by a given
+     * apportionment method.
+     *
+     * @param method the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing the seats won by each
+     *         party.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution(int method) {
+        tally();
+        int[] prSeats = new int[this.numParties];
+        int[] mmpSeats = new int[this.numParties];
+        Apportionment.allocate(method, this.partyTotals, this.numRidings, prSeats);
+        VoteTally.computeMMPSeats(this.seatsWon, prSeats, mmpSeats);
+
+        // List the parties that won FPTP seats first, as VoteTally does.
+        int[] order = new int[this.numParties];
+        for (int i = 0; i < this.numParties; i++) {
+            if (this.seatsWon[i] > 0) {
+                order[i] = this.firstWins[i];
+            } else {
+                order[i] = this.numRidings + this.seenRanks[i];
+            }
+        }
+
+        return toPartyResults(mmpSeats, null, order);
+    }
+
+    /**
+     * Returns the number of seats each party wins under weighted
+     * first-past-the-post.
+     *
+     * @param totalSeats the total number of seats available in the election.
+     * @return an ArrayList of PartyResult containing the weighted seats won by
+     *         each party.
+     */
+    public ArrayList<PartyResult> getWeightedFPTPSeatDistribution(int totalSeats) {
+        tally();
+        int[] seats = new int[this.numParties];
+        boolean[] include = new boolean[this.numParties];
+
+        if (VoteTally.computeWeightedSeats(this.electorsWon, this.totalElectors, this.numRidings, totalSeats,
+                seats)) {
+            for (int i = 0; i < this.numParties; i++) {
+                include[i] = this.electorsWon[i] > 0;
+            }
+        }
+
+        return toPartyResults(seats, include, this.firstWeightedWins);
+    }
+
+    /**
+     * Finds the riding with the highest turnout among ridings with more than
+     * 0 electors. If several are tied, the first one in the file is returned.
+     *
+     * @return the riding with the highest turnout; or null if no valid riding
+     *         exists.
+     */
+    public Riding getRidingWithHighestTurnout() {
+        return findTurnoutExtreme(true);
+    }
+
+    /**
+     * Finds the riding with the lowest turnout among ridings with more than 0
+     * electors. If several are tied, the first one in the file is returned.
+     *
+     * @return the riding with the lowest turnout; or null if no valid riding
+     *         exists.
+     */
+    public Riding getRidingWithLowestTurnout() {
+        return findTurnoutExtreme(false);
+    }
+
+    /**
+     * Finds the riding with the highest or lowest turnout by reading the
+     * electors and vote columns, then builds only that riding. Turnout is
+     * computed the same way as in Riding, capped at 1.
+     *
+     * @param highest true to find the highest turnout; false for the lowest.
+     * @return the riding found; or null if no riding has any electors.
+     */
+    private Riding findTurnoutExtreme(boolean highest) {
+        int best = -1;
+        double bestTurnout = 0;
+
+        for (int i = 0; i < this.numRidings; i++) {
+            int electors = this.snapshot.getRidingElectors(i);
+            if (electors > 0) {
+                long total = 0;
+                for (int c = this.snapshot.getFirstCandidate(i); c < this.snapshot.getFirstCandidate(i + 1); c++) {
+                    total += this.snapshot.getCandidateVotes(c);
+                }
+
+                double turnout = Math.min(((double) total) / electors, 1);
+                if (best == -1 || (highest && turnout > bestTurnout) || (!highest && turnout < bestTurnout)) {
+                    best = i;
+                    bestTurnout = turnout;
+                }
+            }
+        }
+
+        Riding returnVal = null;
+        if (best != -1) {
+            returnVal = getRiding(best);
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Computes the per-party aggregates from the numeric columns of the file,
+     * if they haven't been computed yet. Each riding's votes are summed per
+     * party in a scratch row, and its winner is found with the same
+     * tie-breaking as VoteTally: the party whose first candidate appears
+     * earliest in the riding. The order of each party's first candidate and
+     * first win is recorded along the way.
+     */
+    private synchronized void tally() {
+        if (this.partyTotals == null) {
+            long[] totals = new long[this.numParties];
+            int[] counts = new int[this.numParties];
+            int[] seats = new int[this.numParties];
+            long[] won = new long[this.numParties];
+            long electors = 0;
+            long[] ridingVotes = new long[this.numParties];
+            int[] ranks = new int[this.numParties];
+            int[] wins = new int[this.numParties];
+            int[] weightedWins = new int[this.numParties];
+            int numSeen = 0;
+            Arrays.fill(wins, this.numRidings);
+            Arrays.fill(weightedWins, this.numRidings);
+
+            for (int i = 0; i < this.numRidings; i++) {
+                int first = this.snapshot.getFirstCandidate(i);
+                int end = this.snapshot.getFirstCandidate(i + 1);
+
+                // Add each candidate's votes to its party's count in the
+                // riding.
+                for (int c = first; c < end; c++) {
+                    int partyId = this.snapshot.getCandidatePartyId(c);
+                    if (partyId != -1) {
+                        if (counts[partyId] == 0) {
+                            ranks[partyId] = numSeen++;
+                        }
+                        int votes = this.snapshot.getCandidateVotes(c);
+                        ridingVotes[partyId] += votes;
+                        totals[partyId] += votes;
+                        counts[partyId]++;
+                    }
+                }
+
+                // Find the party with the most votes, then clear the row.
+                int winner = -1;
+                for (int c = first; c < end; c++) {
+                    int partyId = this.snapshot.getCandidatePartyId(c);
+                    if (partyId != -1 && (winner == -1 || ridingVotes[partyId] > ridingVotes[winner])) {
+                        winner = partyId;
+                    }
+                }
+                for (int c = first; c < end; c++) {
+                    int partyId = this.snapshot.getCandidatePartyId(c);
+                    if (partyId != -1) {
+                        ridingVotes[partyId] = 0;
+                    }
+                }
+
+                int ridingElectors = this.snapshot.getRidingElectors(i);
+                electors += ridingElectors;
+                if (winner != -1) {
+                    if (seats[winner] == 0) {
+                        wins[winner] = i;
+                    }
+                    seats[winner]++;
+                    if (ridingElectors > 0) {
+                        if (won[winner] == 0) {
+                            weightedWins[winner] = i;
+                        }
+                        won[winner] += ridingElectors;
+                    }
+                }
+            }
+
+            // Parties without candidates come after the others, in ID order.
+            int[] order = new int[this.numParties];
+            for (int i = 0; i < this.numParties; i++) {
+                if (counts[i] == 0) {
+                    ranks[i] = numSeen++;
+                }
+                order[ranks[i]] = i;
+            }
+
+            this.candidateCounts = counts;
+            this.seatsWon = seats;
+            this.electorsWon = won;
+            this.totalElectors = electors;
+            this.seenRanks = ranks;
+            this.firstWins = wins;
+            this.firstWeightedWins = weightedWins;
+            this.seenOrder = order;
+            this.partyTotals = totals;
+        }
+    }
+
+    /**
+     * Builds the index of riding IDs by sorting the ID column, with each ID
+     * packed together with its position.
+     */
+    private void buildRidingIndex() {
+        long[] packed = new long[this.numRidings];
+        for (int i = 0; i < this.numRidings; i++) {
+            packed[i] = ((long) this.snapshot.getRidingId(i) << 32) | i;
+        }
+        Arrays.sort(packed);
+
+        int[] ids = new int[this.numRidings];
+        int[] positions = new int[this.numRidings];
+        for (int i = 0; i < this.numRidings; i++) {
+            ids[i] = (int) (packed[i] >> 32);
+            positions[i] = (int) packed[i];
+        }
+
+        this.sortedPositions = positions;
+        this.sortedIds = ids;
+    }
+
+    /**
+     * Converts an array of seat counts indexed by party ID into an ArrayList
+     * of PartyResult, listing the parties by increasing order value, as
+     * VoteTally does.
+     *
+     * @param seats   the seat count of each party, indexed by party ID.
+     * @param include whether each party should be included, indexed by party
+     *                ID, or null to include parties with a positive count.
+     * @param order   the place of each party in the list, indexed by party
+     *                ID; parties with the same value stay in ID order.
+     * @return an ArrayList of PartyResult containing each included party and
+     *         its seat count.
+     */
+    private ArrayList<PartyResult> toPartyResults(int[] seats, boolean[] include, int[] order) {
+        ArrayList<PartyResult> results = new ArrayList<PartyResult>();
+        int[] listed = new int[seats.length];
+        int numListed = 0;
+
+        for (int i = 0; i < seats.length; i++) {
+            if ((include == null && seats[i] > 0) || (include != null && include[i])) {
+                int j = numListed++;
+                while (j > 0 && order[listed[j - 1]] > order[i]) {
+                    listed[j] = listed[j - 1];
+                    j--;
+                }
+                listed[j] = i;
+            }
+        }
+
+        for (int i = 0; i < numListed; i++) {
+            PartyResult currParty = new PartyResult(this.parties.getPartyName(listed[i]));
+            currParty.increment(seats[listed[i]]);
+            results.add(currParty);
+        }
+
+        return results;
+    }
+}
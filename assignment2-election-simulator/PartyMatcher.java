@@ -0,0 +1,166 @@
+/**
+ * PartyMatcher.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 38
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Finds which party name a candidate field contains, in a
+ *          single pass over the field, however many parties there are. The
+ *          party names are compiled once into an Aho-Corasick automaton: a
+ *          trie of the names, with every missing transition filled in from
+ *          the longest suffix that is also in the trie, so that matching
+ *          costs one table lookup per character. Characters are first mapped
+ *          to a small alphabet of the characters used in the names; any other
+ *          character leads back to the root. Each state also records the
+ *          latest party in the list whose name ends there (or at any of its
+ *          suffixes). The matcher doesn't change once it is built, so it can
+ *          be shared by several threads.
+ */
+
+import java.util.ArrayList;
+
+public class PartyMatcher {
+    private static final int NO_PARTY = -1;
+
+    private int numClasses;
+    private int[] charClasses;
+    private int[] nameLengths;
+
+    // Per state x character class (row-major, one row per state).
+    private int[] transitions;
+
+    // Per state.
+    private int[] matchedParties;
+
+    /**
+     * Constructs a new PartyMatcher for a given list of parties.
+     *
+     * @param parties the list of valid parties.
+     */
+    public PartyMatcher(String[] parties) {
+        // Give each character used in the names its own class, after class 0
+        // for every other character.
+        int maxChar = 0;
+        for (String currParty : parties) {
+            for (int i = 0; i < currParty.length(); i++) {
+                maxChar = Math.max(maxChar, currParty.charAt(i));
+            }
+        }
+        this.charClasses = new int[maxChar + 1];
+        this.numClasses = 1;
+        for (String currParty : parties) {
+            for (int i = 0; i < currParty.length(); i++) {
+                if (this.charClasses[currParty.charAt(i)] == 0) {
+                    this.charClasses[currParty.charAt(i)] = this.numClasses++;
+                }
+            }
+        }
+
+        // Build the trie of the names, with 0 standing for a missing
+        // transition (the root is never the target of a trie edge).
+        ArrayList<int[]> trie = new ArrayList<int[]>();
+        ArrayList<Integer> stateParties = new ArrayList<Integer>();
+        trie.add(new int[this.numClasses]);
+        stateParties.add(NO_PARTY);
+        this.nameLengths = new int[parties.length];
+        for (int p = 0; p < parties.length; p++) {
+            int state = 0;
+            for (int i = 0; i < parties[p].length(); i++) {
+                int charClass = this.charClasses[parties[p].charAt(i)];
+                if (trie.get(state)[charClass] == 0) {
+                    trie.get(state)[charClass] = trie.size();
+                    trie.add(new int[this.numClasses]);
+                    stateParties.add(NO_PARTY);
+                }
+                state = trie.get(state)[charClass];
+            }
+            stateParties.set(state, p);
+            this.nameLengths[p] = parties[p].length();
+        }
+
+        buildAutomaton(trie, stateParties);
+    }
+
+    /**
+     * Returns where the party name found in a given input starts. If the
+     * input contains several names, the party that appears last in the list
+     * is chosen, and the position of its first occurrence is returned.
+     *
+     * @param input the string to be searched.
+     * @return the position in input at which the party name starts, or -1 if
+     *         the input doesn't contain any party name.
+     */
+    public int findPartyStart(String input) {
+        int state = 0;
+        int bestParty = this.matchedParties[0];
+        int returnVal = bestParty == NO_PARTY ? -1 : 0;
+
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            int charClass = c < this.charClasses.length ? this.charClasses[c] : 0;
+            state = this.transitions[state * this.numClasses + charClass];
+
+            // The first time a later party is seen is its first occurrence.
+            if (this.matchedParties[state] > bestParty) {
+                bestParty = this.matchedParties[state];
+                returnVal = i + 1 - this.nameLengths[bestParty];
+            }
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Turns the trie into the automaton, visiting states breadth-first so
+     * that the suffix state of every state is complete before it is used.
+     * A missing transition goes where the same character leads from the
+     * state's suffix state, and each state inherits the party of its suffix
+     * state if that party is later in the list than its own.
+     *
+     * @param trie         the transitions of each state of the trie.
+     * @param stateParties the party whose name ends at each state of the
+     *                     trie, or NO_PARTY.
+     */
+    private void buildAutomaton(ArrayList<int[]> trie, ArrayList<Integer> stateParties) {
+        int numStates = trie.size();
+        int[] suffixes = new int[numStates];
+        int[] queue = new int[numStates];
+        int head = 0;
+        int tail = 0;
+
+        this.transitions = new int[numStates * this.numClasses];
+        this.matchedParties = new int[numStates];
+        this.matchedParties[0] = stateParties.get(0);
+
+        // The children of the root fall back to the root.
+        for (int c = 0; c < this.numClasses; c++) {
+            int child = trie.get(0)[c];
+            this.transitions[c] = child;
+            if (child != 0) {
+                suffixes[child] = 0;
+                queue[tail++] = child;
+            }
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int suffix = suffixes[state];
+            this.matchedParties[state] = Math.max(stateParties.get(state), this.matchedParties[suffix]);
+
+            for (int c = 0; c < this.numClasses; c++) {
+                int child = trie.get(state)[c];
+                if (child == 0) {
+                    this.transitions[state * this.numClasses + c] = this.transitions[suffix * this.numClasses + c];
+                } else {
+                    this.transitions[state * this.numClasses + c] = child;
+                    suffixes[child] = this.transitions[suffix * this.numClasses + c];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+}
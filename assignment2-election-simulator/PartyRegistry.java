@@ -0,0 +1,161 @@
+/**
+ * PartyRegistry.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 7
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Assigns each political party in an election a dense integer
+ *          ID, starting at 0, in the order in which the parties are registered.
+ *          Party names are matched ignoring case and surrounding whitespace, so
+ *          that each party is only compared as a String once (when it is
+ *          registered) and can afterwards be used as an index into arrays of
+ *          vote or seat counts. Provides methods to register parties, look up
+ *          the ID of a party, look up the name of a party with a given ID, and
+ *          get the number of registered parties, as well as a copy
+ *          constructor. A registry can be frozen, after which no new party can
+ *          be registered.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class PartyRegistry {
+    private ArrayList<String> names;
+    private HashMap<String, Integer> ids;
+    private boolean frozen;
+
+    /**
+     * Constructs a new, empty PartyRegistry.
+     */
+    public PartyRegistry() {
+        this.names = new ArrayList<String>();
+        this.ids = new HashMap<String, Integer>();
+        this.frozen = false;
+    }
+
+    /**
+     * Constructs a new PartyRegistry seeded with a given list of parties. The
+     * parties receive IDs in the order in which they appear in the array.
+     *
+     * @param parties the list of parties to be registered.
+     */
+    public PartyRegistry(String[] parties) {
+        this();
+        registerAll(parties);
+    }
+
+    /**
+     * Constructs a copy of a given PartyRegistry, in which every party has the
+     * same ID. Registering parties in either registry doesn't affect the
+     * other. The copy isn't frozen.
+     *
+     * @param other the registry to be copied.
+     */
+    public PartyRegistry(PartyRegistry other) {
+        this.names = new ArrayList<String>(other.names);
+        this.ids = new HashMap<String, Integer>(other.ids);
+        this.frozen = false;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Freezes the registry, so that any later attempt to register a new party
+     * throws an IllegalStateException. Registered parties can still be looked
+     * up.
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Returns the number of parties that have been registered. Every valid
+     * party ID is between 0 and this value (exclusive).
+     *
+     * @return the number of registered parties.
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    /**
+     * Returns the name of the party with a given ID, as it was spelled when
+     * the party was first registered.
+     *
+     * @param id the ID of the party.
+     * @return the name of the party with the given ID.
+     */
+    public String getPartyName(int id) {
+        return this.names.get(id);
+    }
+
+    /**
+     * Returns the ID of the party with a given name, ignoring case and
+     * surrounding whitespace. Returns -1 if the name is invalid (null, empty,
+     * or only whitespace) or if no such party has been registered.
+     *
+     * @param party the name of the party.
+     * @return the ID of the party, or -1 if it hasn't been registered.
+     */
+    public int getPartyId(String party) {
+        int returnVal = -1;
+
+        if (party != null) {
+            Integer id = this.ids.get(party.trim().toLowerCase());
+            if (id != null) {
+                returnVal = id;
+            }
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the ID of the party with a given name, registering the party
+     * with the next available ID if it hasn't been registered yet. Returns -1
+     * without registering anything if the name is null, empty, or only
+     * whitespace.
+     *
+     * @param party the name of the party.
+     * @return the ID of the party, or -1 if the name is invalid.
+     * @throws IllegalStateException if the party would be registered in a
+     *                               frozen registry.
+     */
+    public int register(String party) {
+        int returnVal = -1;
+
+        if (party != null && !party.trim().equals("")) {
+            String key = party.trim().toLowerCase();
+            Integer id = this.ids.get(key);
+            if (id == null) {
+                if (this.frozen) {
+                    throw new IllegalStateException("Party registry is frozen; can't register " + party + ".");
+                }
+                id = this.names.size();
+                this.names.add(party);
+                this.ids.put(key, id);
+            }
+            returnVal = id;
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Registers every party in a given list, in order. Parties that are
+     * already registered keep their existing ID.
+     *
+     * @param parties the list of parties to be registered.
+     */
+    public void registerAll(String[] parties) {
+        for (String currParty : parties) {
+            register(currParty);
+        }
+    }
+}
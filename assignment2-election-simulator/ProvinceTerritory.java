@@ -13,17 +13,34 @@
  *          bilingual shorthand. Provides getter methods for each of these
  *          instance variables, and a method to get a specific ProvinceTerritory
  *          object by passing in its name as a String. Also contains an array
- *          with each Canadian province/territory.
+ *          with each Canadian province/territory, and a method to get the
+ *          position of a province/territory in that array. Since no other
+ *          ProvinceTerritory can be created, each one stores its own position
+ *          (its ordinal), and names are matched through a trie of the UTF-8
+ *          bytes of every identifier, so that a name can be matched straight
+ *          from the bytes of a CSV file without decoding it.
  * 
  *          NOTE: all implementation of this class except for getProvinceMatch()
- *          was provided by Simon Wermie, my instructor. The implementation of
- *          getProvinceMatch() was written by me.
+ *          and the ordinal and trie was provided by Simon Wermie, my
+ *          instructor. The implementation of getProvinceMatch() was written by
+ *          me.
  */
 
+import java.nio.charset.StandardCharsets;
+
 public class ProvinceTerritory {
         private String fullNameBilingual;
         private String abbreviation;
         private String bilingualShort;
+        private int ordinal;
+
+        // Trie of the UTF-8 bytes of every identifier. Bytes are mapped to a
+        // class first, with class 0 for bytes that no identifier contains; a
+        // transition to state 0 (the root) means there is no such transition.
+        private static int[] byteClasses;
+        private static int numByteClasses;
+        private static int[] trieTransitions;
+        private static ProvinceTerritory[] trieMatches;
 
         // Province/Territory constants
         public static final ProvinceTerritory NEWFOUNDLAND = new ProvinceTerritory(
@@ -54,6 +71,13 @@ public class ProvinceTerritory {
                         BRITISH_COLUMBIA, YUKON, NORTHWEST_TERRITORIES, NUNAVUT
         };
 
+        static {
+                for (int i = 0; i < ALL_PROVINCES.length; i++) {
+                        ALL_PROVINCES[i].ordinal = i;
+                }
+                buildTrie();
+        }
+
         private ProvinceTerritory(String fullNameBilingual, String abbreviation, String bilingualShort) {
                 this.fullNameBilingual = fullNameBilingual;
                 this.abbreviation = abbreviation;
@@ -72,6 +96,10 @@ public class ProvinceTerritory {
                 return bilingualShort;
         }
 
+        public int getOrdinal() {
+                return ordinal;
+        }
+
         @Override
         public String toString() {
                 return fullNameBilingual + " (" + bilingualShort + ")";
@@ -94,16 +122,107 @@ public class ProvinceTerritory {
 
                 // Compare input with fullNameBilingual, abbreviation, and
                 // bilingualShort for each province/territory.
-                input = input.trim();
+                byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+                return getProvinceMatch(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Compares a range of UTF-8 bytes to each ProvinceTerritory's full
+         * bilingual name, abbreviation, and bilingual shorthand, ignoring
+         * leading and trailing whitespace as String.trim() does, and returns
+         * the correct ProvinceTerritory if any match is found. Each byte is
+         * looked at once, whatever the number of provinces/territories.
+         * 
+         * @param bytes the buffer containing the name.
+         * @param start the position of the first byte of the name.
+         * @param end   the position after the last byte of the name.
+         * @return the ProvinceTerritory corresponding to the name; or null if
+         *         no matches are found.
+         */
+        static ProvinceTerritory getProvinceMatch(byte[] bytes, int start, int end) {
+                // Skip whitespace at both ends. Bytes of multi-byte UTF-8
+                // characters are never whitespace.
+                while (start < end && (bytes[start] & 0xFF) <= ' ') {
+                        start++;
+                }
+                while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+                        end--;
+                }
+
+                // Follow the trie until the name ends or has no transition.
+                int state = 0;
+                boolean matching = true;
+                for (int i = start; i < end && matching; i++) {
+                        int byteClass = byteClasses[bytes[i] & 0xFF];
+                        state = byteClass == 0 ? 0 : trieTransitions[state * numByteClasses + byteClass];
+                        matching = state != 0;
+                }
+
                 ProvinceTerritory returnVal = null;
-                for (ProvinceTerritory i : ALL_PROVINCES) {
-                        if (i.getFullNameBilingual().equals(input)
-                                        || i.getAbbreviation().equals(input)
-                                        || i.getBilingualShort().equals(input)) {
-                                returnVal = i;
-                        }
+                if (matching) {
+                        returnVal = trieMatches[state];
                 }
 
                 return returnVal;
         }
+
+        /**
+         * Returns the position of a given province/territory in ALL_PROVINCES,
+         * so that per-province data can be stored in arrays.
+         * 
+         * @param province the province/territory.
+         * @return the index of province in ALL_PROVINCES, or -1 if it is null.
+         */
+        public static int getProvinceIndex(ProvinceTerritory province) {
+                int returnVal = -1;
+
+                if (province != null) {
+                        returnVal = province.ordinal;
+                }
+
+                return returnVal;
+        }
+
+        /**
+         * Builds the trie of the identifiers of every province/territory. If
+         * two provinces/territories share an identifier, the later one in
+         * ALL_PROVINCES is matched.
+         */
+        private static void buildTrie() {
+                // Gather the identifiers and give each byte they use a class.
+                byte[][] identifiers = new byte[ALL_PROVINCES.length * 3][];
+                int numStates = 1;
+                byteClasses = new int[256];
+                numByteClasses = 1;
+                for (int i = 0; i < ALL_PROVINCES.length; i++) {
+                        ProvinceTerritory province = ALL_PROVINCES[i];
+                        identifiers[i * 3] = province.fullNameBilingual.getBytes(StandardCharsets.UTF_8);
+                        identifiers[i * 3 + 1] = province.abbreviation.getBytes(StandardCharsets.UTF_8);
+                        identifiers[i * 3 + 2] = province.bilingualShort.getBytes(StandardCharsets.UTF_8);
+                }
+                for (byte[] identifier : identifiers) {
+                        numStates += identifier.length;
+                        for (byte b : identifier) {
+                                if (byteClasses[b & 0xFF] == 0) {
+                                        byteClasses[b & 0xFF] = numByteClasses++;
+                                }
+                        }
+                }
+
+                // Insert each identifier, sharing common prefixes.
+                trieTransitions = new int[numStates * numByteClasses];
+                trieMatches = new ProvinceTerritory[numStates];
+                int nextState = 1;
+                for (int i = 0; i < identifiers.length; i++) {
+                        int state = 0;
+                        for (byte b : identifiers[i]) {
+                                int position = state * numByteClasses + byteClasses[b & 0xFF];
+                                if (trieTransitions[position] == 0) {
+                                        trieTransitions[position] = nextState++;
+                                }
+                                state = trieTransitions[position];
+                        }
+                        trieMatches[state] = ALL_PROVINCES[i / 3];
+                }
+        }
 }
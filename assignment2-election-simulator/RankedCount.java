@@ -0,0 +1,239 @@
+/**
+ * RankedCount.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 28
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Counts the ranked ballots of a BallotBox under
+ *          instant-runoff voting (IRV) or the single transferable vote (STV).
+ *          Each ballot pattern sits in the pile of the continuing candidate it
+ *          currently counts for, and piles are kept as linked lists threaded
+ *          through a primitive array. When a candidate is eliminated (or
+ *          elected with a surplus, under STV), only the patterns in that
+ *          candidate's pile are moved to their next continuing preference, so
+ *          each round costs time proportional to the ballots transferred
+ *          rather than to every ballot. Under STV, surpluses are transferred
+ *          by reducing the weight of every ballot in the elected candidate's
+ *          pile (the Gregory method), with the Droop quota. When candidates are
+ *          tied for elimination, the one that appears last in the riding is
+ *          eliminated; when they are tied for the lead, the one that appears
+ *          first wins.
+ */
+
+import java.util.ArrayList;
+
+public class RankedCount {
+    private BallotBox box;
+    private int numCandidates;
+
+    // Per pattern.
+    private int[] positions;
+    private double[] weights;
+    private int[] nextInPile;
+
+    // Per candidate.
+    private int[] pileHeads;
+    private double[] tallies;
+    private boolean[] continuing;
+
+    private int numContinuing;
+    private double exhausted;
+
+    /**
+     * Constructs a new RankedCount for a given BallotBox, giving every ballot
+     * to its first preference with a weight of 1.
+     *
+     * @param box the ballots to be counted.
+     */
+    private RankedCount(BallotBox box) {
+        this.box = box;
+        this.numCandidates = box.getNumCandidates();
+
+        int numPatterns = box.getNumPatterns();
+        this.positions = new int[numPatterns];
+        this.weights = new double[numPatterns];
+        this.nextInPile = new int[numPatterns];
+        this.pileHeads = new int[this.numCandidates];
+        this.tallies = new double[this.numCandidates];
+        this.continuing = new boolean[this.numCandidates];
+        this.numContinuing = this.numCandidates;
+        this.exhausted = 0;
+
+        for (int i = 0; i < this.numCandidates; i++) {
+            this.pileHeads[i] = -1;
+            this.continuing[i] = true;
+        }
+        for (int p = 0; p < numPatterns; p++) {
+            this.positions[p] = 0;
+            this.weights[p] = 1;
+            assign(p);
+        }
+    }
+
+    /**
+     * Counts the ballots of a riding under instant-runoff voting. Candidates
+     * with the fewest votes are eliminated one at a time, and their ballots
+     * transferred, until a candidate holds a majority of the ballots that
+     * aren't exhausted (or is the only one left).
+     *
+     * @param box the ballots of the riding.
+     * @return the position of the winning candidate in the riding, or -1 if
+     *         no ballot ranks any candidate.
+     */
+    public static int countIRV(BallotBox box) {
+        RankedCount count = new RankedCount(box);
+        int winner = -1;
+        boolean done = count.numContinuing == 0;
+
+        while (!done) {
+            int leader = count.findLeader();
+            double active = count.box.getTotalBallots() - count.exhausted;
+
+            if (active <= 0) {
+                done = true;
+            } else if (count.numContinuing == 1 || count.tallies[leader] * 2 > active) {
+                winner = leader;
+                done = true;
+            } else {
+                int loser = count.findLoser();
+                count.continuing[loser] = false;
+                count.numContinuing--;
+                count.transferPile(loser, 1);
+            }
+        }
+
+        return winner;
+    }
+
+    /**
+     * Counts the ballots of a riding under the single transferable vote, for
+     * a given number of seats. A candidate is elected as soon as they reach
+     * the Droop quota, and their surplus is transferred at a reduced weight;
+     * if no candidate reaches the quota, the candidate with the fewest votes
+     * is eliminated and their ballots transferred at full weight. Once only
+     * as many candidates remain as there are seats left, they are all
+     * elected.
+     *
+     * @param box   the ballots of the riding.
+     * @param seats the number of seats to fill.
+     * @return the positions of the elected candidates in the riding, in the
+     *         order in which they were elected.
+     */
+    public static ArrayList<Integer> countSTV(BallotBox box, int seats) {
+        RankedCount count = new RankedCount(box);
+        ArrayList<Integer> elected = new ArrayList<Integer>();
+        double quota = Math.floor((box.getTotalBallots() - count.exhausted) / (seats + 1)) + 1;
+
+        while (elected.size() < seats && count.numContinuing > 0) {
+            int leader = count.findLeader();
+
+            if (count.numContinuing <= seats - elected.size()) {
+                // Every remaining candidate fills a remaining seat.
+                elected.add(leader);
+                count.continuing[leader] = false;
+                count.numContinuing--;
+            } else if (count.tallies[leader] >= quota) {
+                double surplus = count.tallies[leader] - quota;
+                elected.add(leader);
+                count.continuing[leader] = false;
+                count.numContinuing--;
+                count.transferPile(leader, surplus / count.tallies[leader]);
+            } else {
+                int loser = count.findLoser();
+                count.continuing[loser] = false;
+                count.numContinuing--;
+                count.transferPile(loser, 1);
+            }
+        }
+
+        return elected;
+    }
+
+    /**
+     * Gives a pattern to its next continuing preference, starting at its
+     * current position, and adds it to that candidate's tally and pile. If no
+     * continuing candidate is left on the ballot, it becomes exhausted.
+     *
+     * @param pattern the index of the pattern.
+     */
+    private void assign(int pattern) {
+        int length = this.box.getLength(pattern);
+        while (this.positions[pattern] < length
+                && !this.continuing[this.box.getPreference(pattern, this.positions[pattern])]) {
+            this.positions[pattern]++;
+        }
+
+        double value = this.box.getCount(pattern) * this.weights[pattern];
+        if (this.positions[pattern] < length) {
+            int candidate = this.box.getPreference(pattern, this.positions[pattern]);
+            this.tallies[candidate] += value;
+            this.nextInPile[pattern] = this.pileHeads[candidate];
+            this.pileHeads[candidate] = pattern;
+        } else {
+            this.exhausted += value;
+        }
+    }
+
+    /**
+     * Moves every pattern in the pile of a candidate who is no longer
+     * continuing to its next preference, multiplying its weight by a given
+     * factor.
+     *
+     * @param candidate the position of the candidate.
+     * @param factor    the factor by which the weight of each ballot is
+     *                  multiplied (1 for an elimination).
+     */
+    private void transferPile(int candidate, double factor) {
+        int pattern = this.pileHeads[candidate];
+        this.pileHeads[candidate] = -1;
+
+        while (pattern != -1) {
+            int next = this.nextInPile[pattern];
+            this.weights[pattern] *= factor;
+            assign(pattern);
+            pattern = next;
+        }
+    }
+
+    /**
+     * Returns the continuing candidate with the most votes. If there is a
+     * tie, returns the one that appears first in the riding.
+     *
+     * @return the position of the leading candidate, or -1 if none are
+     *         continuing.
+     */
+    private int findLeader() {
+        int leader = -1;
+
+        for (int i = 0; i < this.numCandidates; i++) {
+            if (this.continuing[i] && (leader == -1 || this.tallies[i] > this.tallies[leader])) {
+                leader = i;
+            }
+        }
+
+        return leader;
+    }
+
+    /**
+     * Returns the continuing candidate with the fewest votes. If there is a
+     * tie, returns the one that appears last in the riding.
+     *
+     * @return the position of the trailing candidate, or -1 if none are
+     *         continuing.
+     */
+    private int findLoser() {
+        int loser = -1;
+
+        for (int i = 0; i < this.numCandidates; i++) {
+            if (this.continuing[i] && (loser == -1 || this.tallies[i] <= this.tallies[loser])) {
+                loser = i;
+            }
+        }
+
+        return loser;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * RegionalSeatTask.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 26
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Computes the seats won by each party in a range of regions
+ *          of a RegionalTally, either directly on the calling thread or as a
+ *          fork/join task. Each region is allocated independently, and the
+ *          seats of every region in the range are added into a per-party
+ *          array owned by the task. When a range is split, both halves are
+ *          computed in parallel and their seat counts are added into those of
+ *          the parent task, which gives the same result as computing the
+ *          regions in order.
+ */
+
+import java.util.concurrent.RecursiveAction;
+
+public class RegionalSeatTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public static final int REGIONS_PER_TASK = 1;
+
+    private RegionalTally tally;
+    private int[] regionSeats;
+    private int method;
+    private boolean mmp;
+    private int from;
+    private int to;
+    private int[] seats;
+
+    /**
+     * Constructs a new RegionalSeatTask for the regions between two given
+     * positions, with an empty seat count for each party.
+     *
+     * @param tally       the RegionalTally containing the votes of each
+     *                    region.
+     * @param regionSeats the number of PR seats in each region.
+     * @param method      the apportionment method used for the PR seats.
+     * @param mmp         whether the seats are computed under MMP.
+     * @param from        the index of the first region in the range.
+     * @param to          the index after the last region in the range.
+     */
+    public RegionalSeatTask(RegionalTally tally, int[] regionSeats, int method, boolean mmp, int from, int to) {
+        this.tally = tally;
+        this.regionSeats = regionSeats;
+        this.method = method;
+        this.mmp = mmp;
+        this.from = from;
+        this.to = to;
+        this.seats = new int[tally.getNumParties()];
+    }
+
+    public int[] getSeats() {
+        return this.seats;
+    }
+
+    /**
+     * Computes every region in the range on the calling thread, in order.
+     */
+    public void computeRange() {
+        long[] regionVotes = new long[this.seats.length];
+        int[] prSeats = new int[this.seats.length];
+
+        for (int i = this.from; i < this.to; i++) {
+            this.tally.addRegionSeats(i, this.regionSeats[i], this.method, this.mmp, regionVotes, prSeats,
+                    this.seats);
+        }
+    }
+
+    /**
+     * Computes the range, splitting it in two and computing both halves in
+     * parallel if it contains more than REGIONS_PER_TASK regions. The seat
+     * counts of both halves are then added into this task.
+     */
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= REGIONS_PER_TASK) {
+            computeRange();
+        } else {
+            int middle = (this.from + this.to) >>> 1;
+            RegionalSeatTask left = new RegionalSeatTask(this.tally, this.regionSeats, this.method, this.mmp,
+                    this.from, middle);
+            RegionalSeatTask right = new RegionalSeatTask(this.tally, this.regionSeats, this.method, this.mmp,
+                    middle, this.to);
+            invokeAll(left, right);
+            for (int i = 0; i < this.seats.length; i++) {
+                this.seats[i] += left.seats[i] + right.seats[i];
+            }
+        }
+    }
+}
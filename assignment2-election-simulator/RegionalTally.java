@@ -0,0 +1,198 @@
+/**
+ * RegionalTally.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 25
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Stores the votes of an election grouped by
+ *          province/territory, so that PR and MMP can be computed separately
+ *          in each region instead of only nationally. Contains a region x party
+ *          matrix of vote counts and FPTP seats, along with the number of
+ *          ridings in each region, all built once from a VoteTally. Regions
+ *          are indexed by their position in ProvinceTerritory.ALL_PROVINCES.
+ *          Provides getter methods for the stored values, and methods to get
+ *          the national seat distributions under regional PR and regional MMP,
+ *          where each region's seats are allocated from its own votes (in
+ *          parallel if requested) and the results are added together.
+ */
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+public class RegionalTally {
+    private VoteTally tally;
+    private int numRegions;
+    private int numParties;
+
+    // Per region x party (row-major, one row per region).
+    private long[] votes;
+    private int[] fptpSeats;
+
+    // Per region.
+    private int[] ridingCounts;
+
+    /**
+     * Constructs a new RegionalTally by adding each riding's row of a given
+     * VoteTally to the row of its province/territory, and crediting the
+     * riding's winner with a seat in that region. Ridings without a location
+     * don't belong to any region.
+     *
+     * @param tally the national VoteTally.
+     */
+    public RegionalTally(VoteTally tally) {
+        this.tally = tally;
+        this.numRegions = ProvinceTerritory.ALL_PROVINCES.length;
+        this.numParties = tally.getNumParties();
+        this.votes = new long[this.numRegions * this.numParties];
+        this.fptpSeats = new int[this.numRegions * this.numParties];
+        this.ridingCounts = new int[this.numRegions];
+
+        for (int r = 0; r < tally.getNumRidings(); r++) {
+            int region = ProvinceTerritory.getProvinceIndex(tally.getLocation(r));
+            if (region != -1) {
+                int rowStart = region * this.numParties;
+                for (int i = 0; i < this.numParties; i++) {
+                    this.votes[rowStart + i] += tally.getVotes(r, i);
+                }
+                if (tally.getRidingWinner(r) != -1) {
+                    this.fptpSeats[rowStart + tally.getRidingWinner(r)]++;
+                }
+                this.ridingCounts[region]++;
+            }
+        }
+    }
+
+    public int getNumRegions() {
+        return this.numRegions;
+    }
+
+    public int getNumParties() {
+        return this.numParties;
+    }
+
+    /**
+     * Returns the number of votes won by a given party in a given region.
+     *
+     * @param region the index of the region in ProvinceTerritory.ALL_PROVINCES.
+     * @param party  the ID of the party.
+     * @return the number of votes won by the party in the region.
+     */
+    public long getVotes(int region, int party) {
+        return this.votes[region * this.numParties + party];
+    }
+
+    /**
+     * Returns the number of ridings won by a given party in a given region.
+     *
+     * @param region the index of the region in ProvinceTerritory.ALL_PROVINCES.
+     * @param party  the ID of the party.
+     * @return the number of FPTP seats won by the party in the region.
+     */
+    public int getFPTPSeats(int region, int party) {
+        return this.fptpSeats[region * this.numParties + party];
+    }
+
+    public int getRidingCount(int region) {
+        return this.ridingCounts[region];
+    }
+
+    /**
+     * Returns the number of seats each party wins nationally under regional
+     * proportional representation. The total number of seats is first split
+     * between regions in proportion to their number of ridings (by the
+     * largest remainder method, so that it is split exactly), then each
+     * region's seats are allocated from its own votes with a given
+     * apportionment method, and the seats of every region are added up.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @param parallel   whether the regions should be computed in parallel.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getRegionalPRSeatDistribution(int totalSeats, int method, boolean parallel) {
+        // Split the seats between regions by their number of ridings.
+        long[] ridingCounts = new long[this.numRegions];
+        for (int i = 0; i < this.numRegions; i++) {
+            ridingCounts[i] = this.ridingCounts[i];
+        }
+        int[] regionSeats = new int[this.numRegions];
+        Apportionment.allocate(Apportionment.HARE, ridingCounts, totalSeats, regionSeats);
+
+        return this.tally.toPartyResults(computeSeats(regionSeats, method, false, parallel), null);
+    }
+
+    /**
+     * Returns the number of seats each party wins nationally under regional
+     * mixed-member proportional representation. In each region, as many PR
+     * seats as the region has ridings are allocated from the region's votes
+     * with a given apportionment method, and each party keeps the larger of
+     * its FPTP and PR seat counts in that region, so that "top-up" seats are
+     * computed region by region. The seats of every region are then added up.
+     *
+     * @param method   the apportionment method used for the PR seats, as
+     *                 defined in Apportionment.
+     * @param parallel whether the regions should be computed in parallel.
+     * @return an ArrayList of PartyResult containing each party along with
+     *         the number of MMP seats they have won, in the same order as
+     *         VoteTally.getMMPSeatDistribution().
+     */
+    public ArrayList<PartyResult> getRegionalMMPSeatDistribution(int method, boolean parallel) {
+        return this.tally.toPartyResults(computeSeats(this.ridingCounts, method, true, parallel), null,
+                this.tally.getMMPOrder());
+    }
+
+    /**
+     * Computes the seats won by each party in a given region, and adds them to
+     * a national seat count.
+     *
+     * @param region      the index of the region.
+     * @param regionSeats the number of PR seats in the region.
+     * @param method      the apportionment method used for the PR seats.
+     * @param mmp         true to give each party the larger of its FPTP and PR
+     *                    seats; false to only use PR seats.
+     * @param regionVotes a scratch array for the region's votes.
+     * @param prSeats     a scratch array for the region's seats.
+     * @param seats       the national seat count of each party, to which the
+     *                    region's seats are added.
+     */
+    void addRegionSeats(int region, int regionSeats, int method, boolean mmp, long[] regionVotes, int[] prSeats,
+            int[] seats) {
+        int rowStart = region * this.numParties;
+        System.arraycopy(this.votes, rowStart, regionVotes, 0, this.numParties);
+        Apportionment.allocate(method, regionVotes, regionSeats, prSeats);
+
+        for (int i = 0; i < this.numParties; i++) {
+            if (mmp) {
+                seats[i] += Math.max(this.fptpSeats[rowStart + i], prSeats[i]);
+            } else {
+                seats[i] += prSeats[i];
+            }
+        }
+    }
+
+    /**
+     * Computes the national seat count of each party by adding up the seats of
+     * every region, either on the calling thread or on the common
+     * ForkJoinPool.
+     *
+     * @param regionSeats the number of PR seats in each region.
+     * @param method      the apportionment method used for the PR seats.
+     * @param mmp         whether the seats are computed under MMP.
+     * @param parallel    whether the regions should be computed in parallel.
+     * @return the national seat count of each party, indexed by party ID.
+     */
+    private int[] computeSeats(int[] regionSeats, int method, boolean mmp, boolean parallel) {
+        RegionalSeatTask task = new RegionalSeatTask(this, regionSeats, method, mmp, 0, this.numRegions);
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.computeRange();
+        }
+        return task.getSeats();
+    }
+}
@@ -13,15 +13,25 @@
  *          election. Contains the name of the riding, its ID, the ProvinceTerritory
  *          in which it is located, the number of electors, and the list of 
  *          candidates. Provides getter methods for each of these instance 
- *          variables, and methods to add a Candidate, get the total number of 
+ *          variables, and methods to add a Candidate, find a Candidate by name,
+ *          change a candidate's number of votes, get the total number of 
  *          votes cast, get the voter turnout, and get the winning candidate 
- *          (using first-past-the-post).
+ *          (using first-past-the-post). The total number of votes, the
+ *          turnout, and the leading candidate are kept up to date as
+ *          candidates are added and their votes change, so reading them
+ *          doesn't require walking the candidates. Candidates' votes should
+ *          therefore only be changed through addVotes(). A riding may also
+ *          hold the ranked ballots cast in it, for ranked-ballot systems. A
+ *          riding can be copied and frozen, after which it can't be changed,
+ *          so that the copy can be shared safely between threads.
  * 
  *          NOTE: the skeleton of this class was provided as a template by
  *          instructor Simon Wermie. Implementation logic was written by me.
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class Riding {
     private String name;
@@ -29,11 +39,17 @@ public class Riding {
     private int electors;
     private ProvinceTerritory location;
     private ArrayList<Candidate> candidates;
+    private int totalVotes;
+    private double turnout;
+    private int leaderIndex;
+    private BallotBox ballots;
+    private boolean frozen;
 
     /**
      * Constructs a new riding with a name, ID, ProvinceTerritory, and number
      * of electors. Creates an ArrayList of candidates for the riding, which is
-     * set to empty by default.
+     * set to empty by default, with no votes, no leading candidate, and no
+     * ranked ballots.
      * 
      * @param name     the name of the riding.
      * @param id       the ID of the riding.
@@ -46,6 +62,25 @@ public class Riding {
         this.location = province;
         this.electors = electors;
         this.candidates = new ArrayList<Candidate>();
+        this.totalVotes = 0;
+        this.turnout = computeTurnout();
+        this.leaderIndex = -1;
+        this.ballots = null;
+        this.frozen = false;
+    }
+
+    /**
+     * Constructs a copy of a given riding, with copies of its candidates. The
+     * copy shares the riding's ranked ballots, if any, and isn't frozen.
+     * 
+     * @param other the riding to be copied.
+     */
+    public Riding(Riding other) {
+        this(other.name, other.id, other.location, other.electors);
+        for (Candidate currCand : other.candidates) {
+            addCandidate(new Candidate(currCand));
+        }
+        this.ballots = other.ballots;
     }
 
     public String getName() {
@@ -64,41 +99,169 @@ public class Riding {
         return this.electors;
     }
 
+    /**
+     * Returns a copy of the list of candidates of the riding, in the order in
+     * which they were added. Changing the copy doesn't change the riding;
+     * candidates are added with addCandidate(), and their votes changed with
+     * addVotes(), so that the riding's totals stay up to date.
+     * 
+     * @return a copy of the candidates of the riding.
+     */
     public ArrayList<Candidate> getCandidates() {
-        return this.candidates;
+        return new ArrayList<Candidate>(this.candidates);
+    }
+
+    /**
+     * Returns a read-only view of the candidates of the riding, in the order
+     * in which they were added, without copying them. The view reflects
+     * candidates added later, unless the riding is frozen.
+     * 
+     * @return an unmodifiable list of the candidates of the riding.
+     */
+    public List<Candidate> getCandidateList() {
+        return Collections.unmodifiableList(this.candidates);
+    }
+
+    public BallotBox getBallots() {
+        return this.ballots;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
     }
 
+    /**
+     * Freezes the riding and its candidates, so that any later attempt to add
+     * a candidate, change votes, or set ballots throws an
+     * IllegalStateException.
+     */
+    public void freeze() {
+        this.frozen = true;
+        for (Candidate currCand : this.candidates) {
+            currCand.freeze();
+        }
+    }
+
+    /**
+     * Sets the ranked ballots cast in the riding, which identify candidates by
+     * their position in the riding's list of candidates.
+     * 
+     * @param ballots the ranked ballots, or null to remove them.
+     * @throws IllegalArgumentException if the ballots are for a different
+     *                                  number of candidates than the riding
+     *                                  has.
+     */
+    public void setBallots(BallotBox ballots) {
+        checkNotFrozen();
+        if (ballots != null && ballots.getNumCandidates() != this.candidates.size()) {
+            throw new IllegalArgumentException("Ballots rank " + ballots.getNumCandidates()
+                    + " candidates, but riding " + this.id + " has " + this.candidates.size() + ".");
+        }
+        this.ballots = ballots;
+    }
+
+    /**
+     * Adds a given candidate to the riding, and updates the riding's total
+     * votes, turnout, and leading candidate with the candidate's votes.
+     * 
+     * @param c the candidate to be added.
+     */
     public void addCandidate(Candidate c) {
+        checkNotFrozen();
         this.candidates.add(c);
+        this.totalVotes += c.getVotes();
+        this.turnout = computeTurnout();
+
+        // Earlier candidates keep the lead on a tie.
+        if (this.leaderIndex == -1 || c.getVotes() > this.candidates.get(this.leaderIndex).getVotes()) {
+            this.leaderIndex = this.candidates.size() - 1;
+        }
+    }
+
+    /**
+     * Returns the candidate of the riding with a given name, or null if no
+     * such candidate exists. If several candidates share the name, returns
+     * the first one in the list.
+     * 
+     * @param candidateName the name of the candidate.
+     * @return the candidate with the given name, or null if there is none.
+     */
+    public Candidate findCandidate(String candidateName) {
+        Candidate returnVal = null;
+
+        for (int i = 0; i < this.candidates.size() && returnVal == null; i++) {
+            if (this.candidates.get(i).getName().equals(candidateName)) {
+                returnVal = this.candidates.get(i);
+            }
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Adds a given number of votes to a candidate of the riding. The number
+     * may be negative, to correct a previously reported count, but the
+     * candidate's vote count can't go below 0. The riding's total votes,
+     * turnout, and leading candidate are updated; the candidates only need to
+     * be walked again if the leading candidate loses votes. Returns false,
+     * leaving the riding unchanged, if the candidate isn't in the riding or if
+     * its count would become negative.
+     * 
+     * @param c     the candidate whose votes should be changed.
+     * @param delta the number of votes to be added.
+     * @return true if the votes were added; false otherwise.
+     */
+    public boolean addVotes(Candidate c, int delta) {
+        checkNotFrozen();
+        boolean returnVal = false;
+        int index = this.candidates.indexOf(c);
+
+        if (c != null && index != -1 && (long) c.getVotes() + delta >= 0
+                && (long) c.getVotes() + delta <= Integer.MAX_VALUE) {
+            c.addVotes(delta);
+            this.totalVotes += delta;
+            this.turnout = computeTurnout();
+
+            Candidate leader = this.candidates.get(this.leaderIndex);
+            if (index == this.leaderIndex) {
+                if (delta < 0) {
+                    this.leaderIndex = findLeaderIndex();
+                }
+            } else if (c.getVotes() > leader.getVotes()
+                    || (c.getVotes() == leader.getVotes() && index < this.leaderIndex)) {
+                this.leaderIndex = index;
+            }
+            returnVal = true;
+        }
+
+        return returnVal;
     }
 
     /**
      * Returns the total of number of votes in the riding across all candidates.
+     * The total is kept up to date as candidates and votes are added.
      * 
      * @return the total number of votes cast in the riding.
      */
     public int getTotalVotes() {
-        int totalVotes = 0;
-        for (Candidate currCand : this.candidates) {
-            totalVotes += currCand.getVotes();
-        }
-
-        return totalVotes;
+        return this.totalVotes;
     }
 
     /**
      * Returns the turnout for the riding - that is, the total number of votes
      * cast divided by the number of electors. Returns a maximum value of 1.
+     * The turnout is kept up to date as candidates and votes are added.
      * 
      * @return the turnout for the riding.
      */
     public double getTurnout() {
-        return Math.min(((double) getTotalVotes()) / this.electors, 1);
+        return this.turnout;
     }
 
     /**
      * Returns the candidate with the most votes in the riding. If there is a
-     * tie between several candidates, returns the first one in the list.
+     * tie between several candidates, returns the first one in the list. The
+     * leading candidate is kept up to date as candidates and votes are added.
      * 
      * @return the candidate with the most votes in the riding, or null if there
      *         are no candidates.
@@ -106,12 +269,44 @@ public class Riding {
     public Candidate getWinningCandidateFPTP() {
         Candidate winner = null;
 
-        if (this.candidates.size() != 0) {
-            winner = this.candidates.get(0);
-            for (Candidate i : this.candidates) {
-                if (i.getVotes() > winner.getVotes()) {
-                    winner = i;
-                }
+        if (this.leaderIndex != -1) {
+            winner = this.candidates.get(this.leaderIndex);
+        }
+
+        return winner;
+    }
+
+    /**
+     * Throws an IllegalStateException if the riding is frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Riding " + this.id + " is frozen and can't be changed.");
+        }
+    }
+
+    /**
+     * Computes the turnout from the current total number of votes.
+     * 
+     * @return the turnout for the riding, up to a maximum of 1.
+     */
+    private double computeTurnout() {
+        return Math.min(((double) this.totalVotes) / this.electors, 1);
+    }
+
+    /**
+     * Finds the position of the candidate with the most votes by walking the
+     * candidates. If there is a tie, returns the first one in the list.
+     * 
+     * @return the position of the leading candidate, or -1 if there are no
+     *         candidates.
+     */
+    private int findLeaderIndex() {
+        int winner = -1;
+
+        for (int i = 0; i < this.candidates.size(); i++) {
+            if (winner == -1 || this.candidates.get(i).getVotes() > this.candidates.get(winner).getVotes()) {
+                winner = i;
             }
         }
 
@@ -0,0 +1,194 @@
+/**
+ * RidingDetailWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 35
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the detailed results of each riding, with one
+ *          record per party that ran a candidate in the riding: its votes, its
+ *          share of the votes cast, whether it won the riding, and its margin.
+ *          The margin of the winning party is its lead over the runner-up, and
+ *          the margin of every other party is its (negative) gap to the
+ *          winner, both as a share of the votes cast. Records are written as
+ *          CSV rows or JSON Lines objects, with shares and margins rounded to
+ *          six decimals, straight from the riding's row of
+ *          the vote tally, so nothing is kept between ridings and the heap
+ *          used doesn't grow with the number of ridings.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+public class RidingDetailWriter {
+    public static final String CSV_HEADER = "Riding ID,Riding,Province,Party,Votes,Share,Winner,Margin";
+    public static final long FRACTION_SCALE = 1000000;
+
+    private PrintWriter pw;
+    private int format;
+
+    // The last riding in which each party was written, so that parties with
+    // several candidates in a riding are only written once.
+    private int[] lastWritten;
+    private int ridingsWritten;
+
+    /**
+     * Constructs a new RidingDetailWriter on a given output stream, and writes
+     * the header row if the format is CSV.
+     *
+     * @param out    the stream to which the records are written.
+     * @param format the format of the records, either iResultsWriter.CSV or
+     *               iResultsWriter.JSONL.
+     * @throws IllegalArgumentException if the format isn't supported.
+     */
+    public RidingDetailWriter(OutputStream out, int format) {
+        if (format != iResultsWriter.CSV && format != iResultsWriter.JSONL) {
+            throw new IllegalArgumentException("Unsupported riding detail format: " + format);
+        }
+
+        this.pw = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IOHelper.OUTPUT_BUFFER_SIZE));
+        this.format = format;
+        this.lastWritten = new int[0];
+        this.ridingsWritten = 0;
+
+        if (format == iResultsWriter.CSV) {
+            this.pw.print(CSV_HEADER + "\n");
+        }
+    }
+
+    /**
+     * Writes the records of a given riding, one per party that ran a
+     * candidate in it, in the order in which the parties' first candidates
+     * appear.
+     *
+     * @param riding the riding.
+     * @param tally  the vote tally of the election.
+     * @param index  the position of the riding in the tally.
+     */
+    public void writeRiding(Riding riding, VoteTally tally, int index) {
+        int numParties = tally.getNumParties();
+        if (this.lastWritten.length < numParties) {
+            this.lastWritten = new int[numParties];
+        }
+        this.ridingsWritten++;
+
+        // Find the votes of the winner and of the runner-up.
+        long total = tally.getRidingTotal(index);
+        int winner = tally.getRidingWinner(index);
+        long winnerVotes = 0;
+        long runnerUpVotes = 0;
+        if (winner != -1) {
+            winnerVotes = tally.getVotes(index, winner);
+            for (int i = 0; i < numParties; i++) {
+                if (i != winner && tally.getVotes(index, i) > runnerUpVotes) {
+                    runnerUpVotes = tally.getVotes(index, i);
+                }
+            }
+        }
+
+        for (Candidate currCand : riding.getCandidateList()) {
+            int partyId = currCand.getPartyId();
+            if (partyId != -1 && this.lastWritten[partyId] != this.ridingsWritten) {
+                this.lastWritten[partyId] = this.ridingsWritten;
+
+                long votes = tally.getVotes(index, partyId);
+                long lead = partyId == winner ? votes - runnerUpVotes : votes - winnerVotes;
+                double share = total > 0 ? (double) votes / total : 0;
+                double margin = total > 0 ? (double) lead / total : 0;
+                writeRecord(riding, tally.getPartyRegistry().getPartyName(partyId), votes, share,
+                        partyId == winner, margin);
+            }
+        }
+    }
+
+    /**
+     * Flushes the records and closes the output.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    public void close() throws IOException {
+        this.pw.close();
+        if (this.pw.checkError()) {
+            throw new IOException("Error writing the riding details.");
+        }
+    }
+
+    /**
+     * Writes one record in the writer's format.
+     *
+     * @param riding the riding.
+     * @param party  the name of the party.
+     * @param votes  the votes of the party in the riding.
+     * @param share  the party's share of the votes cast.
+     * @param winner whether the party won the riding.
+     * @param margin the party's margin, as a share of the votes cast.
+     */
+    private void writeRecord(Riding riding, String party, long votes, double share, boolean winner, double margin) {
+        if (this.format == iResultsWriter.CSV) {
+            this.pw.print(riding.getId());
+            this.pw.write(',');
+            CSVResultsWriter.writeField(this.pw, riding.getName());
+            this.pw.write(',');
+            this.pw.write(riding.getLocation().getAbbreviation());
+            this.pw.write(',');
+            CSVResultsWriter.writeField(this.pw, party);
+            this.pw.write(',');
+            this.pw.print(votes);
+            this.pw.write(',');
+            writeFraction(this.pw, share);
+            this.pw.write(',');
+            this.pw.print(winner);
+            this.pw.write(',');
+            writeFraction(this.pw, margin);
+            this.pw.write('\n');
+        } else {
+            this.pw.write("{\"id\":");
+            this.pw.print(riding.getId());
+            this.pw.write(",\"name\":");
+            JSONLResultsWriter.writeString(this.pw, riding.getName());
+            this.pw.write(",\"province\":");
+            JSONLResultsWriter.writeString(this.pw, riding.getLocation().getAbbreviation());
+            this.pw.write(",\"party\":");
+            JSONLResultsWriter.writeString(this.pw, party);
+            this.pw.write(",\"votes\":");
+            this.pw.print(votes);
+            this.pw.write(",\"share\":");
+            writeFraction(this.pw, share);
+            this.pw.write(",\"winner\":");
+            this.pw.print(winner);
+            this.pw.write(",\"margin\":");
+            writeFraction(this.pw, margin);
+            this.pw.write("}\n");
+        }
+    }
+
+    /**
+     * Writes a fraction between -1 and 1 with six decimals to a given
+     * PrintWriter, using integer arithmetic rather than formatting a String.
+     *
+     * @param pw    the PrintWriter to which the fraction is written.
+     * @param value the fraction to be written.
+     */
+    static void writeFraction(PrintWriter pw, double value) {
+        long scaled = Math.round(Math.abs(value) * FRACTION_SCALE);
+        if (value < 0 && scaled > 0) {
+            pw.write('-');
+        }
+        pw.print(scaled / FRACTION_SCALE);
+        pw.write('.');
+
+        // Write the decimals, with leading zeros.
+        long decimals = scaled % FRACTION_SCALE;
+        for (long place = FRACTION_SCALE / 10; place > 0; place /= 10) {
+            pw.write((char) ('0' + decimals / place % 10));
+        }
+    }
+}
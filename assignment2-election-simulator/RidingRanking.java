@@ -0,0 +1,248 @@
+/**
+ * RidingRanking.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 23
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Orders ridings by one of several metrics: turnout, winning
+ *          margin (the gap between the two leading candidates, as a share of
+ *          the votes cast), vote share of a given party, or number of
+ *          electors. Ridings for which the metric is undefined (such as the
+ *          turnout of a riding without electors) are not ranked. Ridings with
+ *          the same value are ordered by ID, lowest first. Provides methods to
+ *          get and format the value of a riding, and a method that selects the
+ *          k highest or lowest ridings of a list with a bounded heap, in
+ *          O(n log k) time and O(k) extra space, instead of sorting the whole
+ *          list.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+public class RidingRanking implements Comparator<Riding> {
+    public static final int TURNOUT = 0;
+    public static final int MARGIN = 1;
+    public static final int PARTY_SHARE = 2;
+    public static final int ELECTORS = 3;
+    public static final String[] METRIC_NAMES = { "Turnout", "Winning Margin", "Vote Share", "Electors" };
+
+    private int metric;
+    private int partyId;
+
+    /**
+     * Constructs a new RidingRanking for a given metric other than
+     * PARTY_SHARE.
+     *
+     * @param metric the metric by which ridings are ranked.
+     */
+    public RidingRanking(int metric) {
+        this(metric, -1);
+    }
+
+    /**
+     * Constructs a new RidingRanking for a given metric and party. The party is
+     * only used by PARTY_SHARE.
+     *
+     * @param metric  the metric by which ridings are ranked.
+     * @param partyId the ID of the party whose vote share is ranked, as given
+     *                by the election's PartyRegistry.
+     */
+    public RidingRanking(int metric, int partyId) {
+        if (metric < TURNOUT || metric > ELECTORS) {
+            throw new IllegalArgumentException("Unknown riding metric: " + metric);
+        }
+        if (metric == PARTY_SHARE && partyId < 0) {
+            throw new IllegalArgumentException("Vote share ranking requires a registered party.");
+        }
+
+        this.metric = metric;
+        this.partyId = partyId;
+    }
+
+    public int getMetric() {
+        return this.metric;
+    }
+
+    public int getPartyId() {
+        return this.partyId;
+    }
+
+    /**
+     * Returns true if the metric is defined for a given riding: turnout needs
+     * electors, the winning margin and vote share need votes.
+     *
+     * @param riding the riding.
+     * @return true if the riding can be ranked; false otherwise.
+     */
+    public boolean isRanked(Riding riding) {
+        boolean returnVal = true;
+
+        if (this.metric == TURNOUT) {
+            returnVal = riding.getElectors() > 0;
+        } else if (this.metric == MARGIN || this.metric == PARTY_SHARE) {
+            returnVal = riding.getTotalVotes() > 0;
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the value of the metric for a given riding.
+     *
+     * @param riding the riding.
+     * @return the value of the metric for the riding.
+     */
+    public double getValue(Riding riding) {
+        double value;
+
+        if (this.metric == TURNOUT) {
+            value = riding.getTurnout();
+        } else if (this.metric == MARGIN) {
+            value = getMargin(riding);
+        } else if (this.metric == PARTY_SHARE) {
+            value = getPartyShare(riding);
+        } else {
+            value = riding.getElectors();
+        }
+
+        return value;
+    }
+
+    /**
+     * Formats the value of the metric for a given riding, as a percentage for
+     * every metric except ELECTORS.
+     *
+     * @param riding the riding.
+     * @return the formatted value.
+     */
+    public String formatValue(Riding riding) {
+        String returnVal;
+
+        if (this.metric == ELECTORS) {
+            returnVal = String.valueOf(riding.getElectors());
+        } else {
+            returnVal = String.format("%.2f%%", getValue(riding) * 100);
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Compares two ridings by the value of the metric. If both have the same
+     * value, the riding with the lower ID is considered greater, so that it is
+     * ranked first.
+     *
+     * @param first  the first riding.
+     * @param second the second riding.
+     * @return a negative number, 0, or a positive number if first ranks below,
+     *         equal to, or above second.
+     */
+    @Override
+    public int compare(Riding first, Riding second) {
+        int returnVal = Double.compare(getValue(first), getValue(second));
+
+        if (returnVal == 0) {
+            returnVal = Integer.compare(second.getId(), first.getId());
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Selects the k highest (or lowest) ridings of a list by the value of the
+     * metric, keeping at most k ridings in a heap whose root is the worst of
+     * the ridings selected so far. Ridings that can't be ranked are skipped.
+     * Ridings with the same value are ordered by ID, lowest first, in both
+     * directions.
+     *
+     * @param ridings the ridings to be searched.
+     * @param k       the number of ridings to be selected.
+     * @param highest true to select the highest values; false to select the
+     *                lowest.
+     * @return the selected ridings (fewer than k if fewer can be ranked), in
+     *         ranking order.
+     */
+    public ArrayList<Riding> select(ArrayList<Riding> ridings, int k, boolean highest) {
+        ArrayList<Riding> selected = new ArrayList<Riding>();
+
+        if (k > 0) {
+            // Order the heap so that its root is the riding to drop first.
+            Comparator<Riding> order = this;
+            if (!highest) {
+                order = (first, second) -> {
+                    int returnVal = Double.compare(getValue(second), getValue(first));
+                    if (returnVal == 0) {
+                        returnVal = Integer.compare(second.getId(), first.getId());
+                    }
+                    return returnVal;
+                };
+            }
+
+            PriorityQueue<Riding> heap = new PriorityQueue<Riding>(Math.min(k, ridings.size()) + 1, order);
+            for (Riding currRiding : ridings) {
+                if (isRanked(currRiding)) {
+                    if (heap.size() < k) {
+                        heap.add(currRiding);
+                    } else if (order.compare(currRiding, heap.peek()) > 0) {
+                        heap.poll();
+                        heap.add(currRiding);
+                    }
+                }
+            }
+
+            // The heap gives the ridings from worst to best.
+            while (!heap.isEmpty()) {
+                selected.add(heap.poll());
+            }
+            Collections.reverse(selected);
+        }
+
+        return selected;
+    }
+
+    /**
+     * Returns the gap between the two candidates with the most votes in a
+     * given riding, as a share of the votes cast. A riding with a single
+     * candidate has a margin of 1.
+     *
+     * @param riding the riding.
+     * @return the winning margin of the riding.
+     */
+    private static double getMargin(Riding riding) {
+        Candidate winner = riding.getWinningCandidateFPTP();
+        int runnerUpVotes = 0;
+
+        for (Candidate currCand : riding.getCandidateList()) {
+            if (currCand != winner && currCand.getVotes() > runnerUpVotes) {
+                runnerUpVotes = currCand.getVotes();
+            }
+        }
+
+        return ((double) winner.getVotes() - runnerUpVotes) / riding.getTotalVotes();
+    }
+
+    /**
+     * Returns the share of the votes cast in a given riding that went to the
+     * ranked party's candidates.
+     *
+     * @param riding the riding.
+     * @return the party's vote share in the riding.
+     */
+    private double getPartyShare(Riding riding) {
+        long partyVotes = 0;
+
+        for (Candidate currCand : riding.getCandidateList()) {
+            if (currCand.getPartyId() == this.partyId) {
+                partyVotes += currCand.getVotes();
+            }
+        }
+
+        return (double) partyVotes / riding.getTotalVotes();
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * ScenarioEngine.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 12
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Runs what-if analyses on top of an ElectionSimulator.
+ *          Holds a list of VoteSwing objects which are applied to the votes
+ *          already loaded in the simulator, then runs a given number of
+ *          randomized trials in parallel and reports the seat distribution of
+ *          each party under all five electoral systems as a ScenarioResult.
+ *          The loaded votes are read directly from the VoteTally of the
+ *          simulator's published ElectionState and are never copied or
+ *          modified; each worker only keeps a few arrays indexed by party ID.
+ *          Provides methods to add, get, and clear swings, and to run the
+ *          trials.
+ */
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+public class ScenarioEngine {
+    private ElectionSimulator ed;
+    private ArrayList<VoteSwing> swings;
+
+    /**
+     * Constructs a new ScenarioEngine for a given ElectionSimulator, with no
+     * swings.
+     *
+     * @param ed the ElectionSimulator containing the base election data.
+     */
+    public ScenarioEngine(ElectionSimulator ed) {
+        this.ed = ed;
+        this.swings = new ArrayList<VoteSwing>();
+    }
+
+    public ArrayList<VoteSwing> getSwings() {
+        return this.swings;
+    }
+
+    /**
+     * Adds a swing to be applied in every trial. Swings affecting the same
+     * riding and party add up.
+     *
+     * @param swing the swing to be added.
+     */
+    public void addSwing(VoteSwing swing) {
+        if (swing != null) {
+            this.swings.add(swing);
+        }
+    }
+
+    public void clearSwings() {
+        this.swings.clear();
+    }
+
+    /**
+     * Runs a given number of randomized trials of the election, applying every
+     * swing to the loaded votes, and returns the distribution of results under
+     * each electoral system. Trials are split across the common ForkJoinPool.
+     * Each trial draws its random swings from a generator seeded with the
+     * given seed and the trial number, mixed so that consecutive trials are
+     * independent, so the result only depends on the seed, not on how the
+     * trials were scheduled. The election is published first, and the trials
+     * read the published ElectionState. Throws an IllegalArgumentException if
+     * the number of trials or seats is not positive, or if a swing refers to
+     * an unknown party.
+     *
+     * @param numTrials  the number of trials to run.
+     * @param totalSeats the total number of seats used by PR and W-FPTP.
+     * @param seed       the seed of the random number generators.
+     * @return the distribution of results across all trials.
+     */
+    public ScenarioResult run(int numTrials, int totalSeats, long seed) {
+        if (numTrials <= 0) {
+            throw new IllegalArgumentException("Number of trials must be positive.");
+        }
+        if (totalSeats <= 0) {
+            throw new IllegalArgumentException("Total number of seats must be positive.");
+        }
+
+        // Run the trials on a published state, so that the election can keep
+        // changing while they run.
+        ElectionState state = this.ed.publish();
+        VoteTally tally = state.getTally();
+
+        // Resolve the party of each swing to its ID.
+        int[] swingParties = new int[this.swings.size()];
+        for (int i = 0; i < this.swings.size(); i++) {
+            String party = this.swings.get(i).getParty();
+            swingParties[i] = -1;
+            if (party != null) {
+                swingParties[i] = tally.getPartyRegistry().getPartyId(party);
+                if (swingParties[i] == -1 || swingParties[i] >= tally.getNumParties()) {
+                    throw new IllegalArgumentException("Unknown party in swing: " + party);
+                }
+            }
+        }
+
+        int maxSeats = Math.max(totalSeats, tally.getNumRidings());
+        ScenarioTask task = new ScenarioTask(tally, state.getRidings(), this.swings, swingParties, totalSeats,
+                maxSeats, seed, 0, numTrials);
+        ForkJoinPool.commonPool().invoke(task);
+
+        return task.getResult();
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * ScenarioResult.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 11
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Stores the outcome of a set of randomized election trials
+ *          run by a ScenarioEngine. For each electoral system (NPV, FPTP, PR,
+ *          MMP, and W-FPTP), keeps a histogram of the number of trials in which
+ *          each party won each possible number of seats, and the number of
+ *          trials each party won outright. NPV has no seats, so only its wins
+ *          are recorded. Each histogram only spans the seat counts reached in
+ *          the recorded trials, so its size doesn't grow with the number of
+ *          ridings. Provides methods to get the probability of a party
+ *          winning a given number of seats, its full seat distribution, its
+ *          expected seat count, and its probability of winning, as well as a
+ *          method to merge the results of another set of trials.
+ */
+
+public class ScenarioResult {
+    public static final int NPV = 0;
+    public static final int FPTP = 1;
+    public static final int PR = 2;
+    public static final int MMP = 3;
+    public static final int W_FPTP = 4;
+    public static final int NUM_METHODS = 5;
+    public static final String[] METHOD_NAMES = { "NPV", "FPTP", "PR", "MMP", "W-FPTP" };
+
+    private PartyRegistry parties;
+    private int numParties;
+    private int maxSeats;
+    private int numTrials;
+
+    // Per method x party: the number of trials in which the party won each
+    // seat count from firstSeats on, or null if no trial was recorded. Rows
+    // only cover the seat counts that were actually reached.
+    private int[][] seatCounts;
+    private int[] firstSeats;
+
+    // Per method x party.
+    private int[] wins;
+
+    /**
+     * Constructs a new, empty ScenarioResult for a given set of parties, in
+     * which no party can win more than a given number of seats.
+     *
+     * @param parties  the PartyRegistry of the simulated election.
+     * @param maxSeats the largest number of seats a party can win.
+     */
+    public ScenarioResult(PartyRegistry parties, int maxSeats) {
+        this.parties = parties;
+        this.numParties = parties.size();
+        this.maxSeats = maxSeats;
+        this.numTrials = 0;
+        this.seatCounts = new int[NUM_METHODS * this.numParties][];
+        this.firstSeats = new int[NUM_METHODS * this.numParties];
+        this.wins = new int[NUM_METHODS * this.numParties];
+    }
+
+    public int getNumTrials() {
+        return this.numTrials;
+    }
+
+    public int getMaxSeats() {
+        return this.maxSeats;
+    }
+
+    /**
+     * Records the result of one trial. The party with the most seats under
+     * each system (the lowest ID in case of a tie) is recorded as its winner.
+     *
+     * @param npvWinner the ID of the party that won the popular vote, or -1 if
+     *                  no votes were cast.
+     * @param seats     the number of seats won by each party under each
+     *                  system, indexed by method and then by party ID (the
+     *                  NPV row is ignored).
+     */
+    public void addTrial(int npvWinner, int[][] seats) {
+        this.numTrials++;
+
+        if (npvWinner != -1) {
+            this.wins[NPV * this.numParties + npvWinner]++;
+        }
+
+        for (int method = FPTP; method < NUM_METHODS; method++) {
+            int winner = -1;
+            for (int i = 0; i < this.numParties; i++) {
+                int seatCount = Math.min(Math.max(seats[method][i], 0), this.maxSeats);
+                int row = method * this.numParties + i;
+                coverSeats(row, seatCount, seatCount + 1);
+                this.seatCounts[row][seatCount - this.firstSeats[row]]++;
+                if (seats[method][i] > 0 && (winner == -1 || seats[method][i] > seats[method][winner])) {
+                    winner = i;
+                }
+            }
+
+            if (winner != -1) {
+                this.wins[method * this.numParties + winner]++;
+            }
+        }
+    }
+
+    /**
+     * Adds the trials recorded in another ScenarioResult for the same parties
+     * and seat limit to this one.
+     *
+     * @param other the ScenarioResult to be merged into this one.
+     */
+    public void merge(ScenarioResult other) {
+        this.numTrials += other.numTrials;
+
+        for (int row = 0; row < this.seatCounts.length; row++) {
+            int[] otherCounts = other.seatCounts[row];
+            if (otherCounts != null) {
+                int otherFirst = other.firstSeats[row];
+                coverSeats(row, otherFirst, otherFirst + otherCounts.length);
+                int offset = otherFirst - this.firstSeats[row];
+                for (int i = 0; i < otherCounts.length; i++) {
+                    this.seatCounts[row][offset + i] += otherCounts[i];
+                }
+            }
+        }
+        for (int i = 0; i < this.wins.length; i++) {
+            this.wins[i] += other.wins[i];
+        }
+    }
+
+    /**
+     * Grows a row of the seat histogram so that it covers every seat count
+     * between two given numbers, keeping the counts already in it.
+     *
+     * @param row  the position of the row (method x party).
+     * @param from the smallest seat count to be covered.
+     * @param to   the seat count after the largest one to be covered.
+     */
+    private void coverSeats(int row, int from, int to) {
+        int[] counts = this.seatCounts[row];
+
+        if (counts == null) {
+            this.seatCounts[row] = new int[to - from];
+            this.firstSeats[row] = from;
+        } else if (from < this.firstSeats[row] || to > this.firstSeats[row] + counts.length) {
+            int newFirst = Math.min(from, this.firstSeats[row]);
+            int newEnd = Math.max(to, this.firstSeats[row] + counts.length);
+            int[] grown = new int[newEnd - newFirst];
+            System.arraycopy(counts, 0, grown, this.firstSeats[row] - newFirst, counts.length);
+            this.seatCounts[row] = grown;
+            this.firstSeats[row] = newFirst;
+        }
+    }
+
+    /**
+     * Returns the probability that a given party wins exactly a given number
+     * of seats under a given system. Returns 0 if the party is unknown, if the
+     * number of seats is out of range, or if no trials were run.
+     *
+     * @param method the electoral system (FPTP, PR, MMP, or W_FPTP).
+     * @param party  the name of the party.
+     * @param seats  the number of seats.
+     * @return the share of trials in which the party won that many seats.
+     */
+    public double getProbability(int method, String party, int seats) {
+        double returnVal = 0.0;
+        int partyId = this.parties.getPartyId(party);
+
+        if (partyId != -1 && partyId < this.numParties && seats >= 0 && seats <= this.maxSeats
+                && this.numTrials > 0) {
+            int row = method * this.numParties + partyId;
+            int[] counts = this.seatCounts[row];
+            if (counts != null && seats >= this.firstSeats[row] && seats < this.firstSeats[row] + counts.length) {
+                returnVal = (double) counts[seats - this.firstSeats[row]] / this.numTrials;
+            }
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the probability distribution of the number of seats won by a
+     * given party under a given system. The value at index i is the share of
+     * trials in which the party won exactly i seats.
+     *
+     * @param method the electoral system (FPTP, PR, MMP, or W_FPTP).
+     * @param party  the name of the party.
+     * @return the seat distribution of the party, or all zeros if the party is
+     *         unknown or no trials were run.
+     */
+    public double[] getSeatDistribution(int method, String party) {
+        double[] distribution = new double[this.maxSeats + 1];
+
+        for (int i = 0; i <= this.maxSeats; i++) {
+            distribution[i] = getProbability(method, party, i);
+        }
+
+        return distribution;
+    }
+
+    /**
+     * Returns the average number of seats won by a given party under a given
+     * system across all trials.
+     *
+     * @param method the electoral system (FPTP, PR, MMP, or W_FPTP).
+     * @param party  the name of the party.
+     * @return the expected number of seats won by the party.
+     */
+    public double getExpectedSeats(int method, String party) {
+        double expected = 0.0;
+        double[] distribution = getSeatDistribution(method, party);
+
+        for (int i = 0; i < distribution.length; i++) {
+            expected += i * distribution[i];
+        }
+
+        return expected;
+    }
+
+    /**
+     * Returns the probability that a given party wins under a given system,
+     * that is, wins the popular vote (NPV) or the most seats (every other
+     * system).
+     *
+     * @param method the electoral system.
+     * @param party  the name of the party.
+     * @return the share of trials won by the party.
+     */
+    public double getWinProbability(int method, String party) {
+        double returnVal = 0.0;
+        int partyId = this.parties.getPartyId(party);
+
+        if (partyId != -1 && partyId < this.numParties && this.numTrials > 0) {
+            returnVal = (double) this.wins[method * this.numParties + partyId] / this.numTrials;
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns a string representation of the ScenarioResult, listing each
+     * party's probability of winning and expected seat count under each
+     * system.
+     *
+     * @return a string representation of the current ScenarioResult.
+     */
+    public String toString() {
+        String returnVal = String.format("Scenario Results (%d trials)\n", this.numTrials);
+
+        for (int method = 0; method < NUM_METHODS; method++) {
+            returnVal += METHOD_NAMES[method] + ":\n";
+            for (int i = 0; i < this.numParties; i++) {
+                String party = this.parties.getPartyName(i);
+                double winProbability = getWinProbability(method, party);
+                if (method == NPV && winProbability > 0) {
+                    returnVal += String.format("\t%s: %.2f%% chance of winning\n", party, winProbability * 100);
+                } else if (method != NPV && getProbability(method, party, 0) < 1) {
+                    returnVal += String.format("\t%s: %.2f expected seats, %.2f%% chance of winning\n", party,
+                            getExpectedSeats(method, party), winProbability * 100);
+                }
+            }
+        }
+
+        return returnVal;
+    }
+}
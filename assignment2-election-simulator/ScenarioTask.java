@@ -0,0 +1,243 @@
+/**
+ * ScenarioTask.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 13
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Runs a range of randomized election trials for a
+ *          ScenarioEngine as a fork/join task. Ranges larger than
+ *          TRIALS_PER_TASK are split in two and run in parallel, and the
+ *          ScenarioResult of each half is merged into this task's result. In
+ *          each trial, every swing draws its change in vote share, the swings
+ *          are applied to each party's votes in each riding of the VoteTally,
+ *          and the resulting votes are tallied under all five electoral
+ *          systems. The VoteTally and ridings are only read; the perturbed
+ *          votes are accumulated in scratch arrays owned by the task.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+
+public class ScenarioTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public static final int TRIALS_PER_TASK = 16;
+
+    private VoteTally tally;
+    private List<Riding> ridings;
+    private ArrayList<VoteSwing> swings;
+    private int[] swingParties;
+    private int totalSeats;
+    private int maxSeats;
+    private long seed;
+    private int from;
+    private int to;
+    private ScenarioResult result;
+
+    /**
+     * Constructs a new ScenarioTask for the trials between two given numbers.
+     *
+     * @param tally        the VoteTally containing the base election data.
+     * @param ridings      the ridings the tally was built from, whose
+     *                     candidates give the tie-breaking order.
+     * @param swings       the swings to be applied in each trial.
+     * @param swingParties the ID of the party affected by each swing, or -1 if
+     *                     it affects every party.
+     * @param totalSeats   the total number of seats used by PR and W-FPTP.
+     * @param maxSeats     the largest number of seats a party can win.
+     * @param seed         the seed of the random number generators.
+     * @param from         the number of the first trial in the range.
+     * @param to           the number after the last trial in the range.
+     */
+    public ScenarioTask(VoteTally tally, List<Riding> ridings, ArrayList<VoteSwing> swings,
+            int[] swingParties, int totalSeats, int maxSeats, long seed, int from, int to) {
+        this.tally = tally;
+        this.ridings = ridings;
+        this.swings = swings;
+        this.swingParties = swingParties;
+        this.totalSeats = totalSeats;
+        this.maxSeats = maxSeats;
+        this.seed = seed;
+        this.from = from;
+        this.to = to;
+        this.result = null;
+    }
+
+    public ScenarioResult getResult() {
+        return this.result;
+    }
+
+    /**
+     * Runs the range of trials, splitting it in two and running both halves
+     * in parallel if it contains more than TRIALS_PER_TASK trials. Only the
+     * tasks that run trials create a ScenarioResult; a split task merges the
+     * result of its right half into that of its left half.
+     */
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= TRIALS_PER_TASK) {
+            runTrials();
+        } else {
+            int middle = (this.from + this.to) >>> 1;
+            ScenarioTask left = new ScenarioTask(this.tally, this.ridings, this.swings, this.swingParties,
+                    this.totalSeats, this.maxSeats, this.seed, this.from, middle);
+            ScenarioTask right = new ScenarioTask(this.tally, this.ridings, this.swings, this.swingParties,
+                    this.totalSeats, this.maxSeats, this.seed, middle, this.to);
+            invokeAll(left, right);
+            left.result.merge(right.result);
+            this.result = left.result;
+        }
+    }
+
+    /**
+     * Runs every trial in the range on the calling thread, reusing the same
+     * scratch arrays for each trial.
+     */
+    private void runTrials() {
+        int numParties = this.tally.getNumParties();
+        double[] swingDeltas = new double[this.swings.size() * numParties];
+        long[] ridingVotes = new long[numParties];
+        long[] partyTotals = new long[numParties];
+        long[] electorsWon = new long[numParties];
+        int[][] seats = new int[ScenarioResult.NUM_METHODS][numParties];
+        int[] prSeatsMMP = new int[numParties];
+        this.result = new ScenarioResult(this.tally.getPartyRegistry(), this.maxSeats);
+
+        for (int trial = this.from; trial < this.to; trial++) {
+            drawSwings(new Random(scrambleSeed(this.seed + trial)), swingDeltas);
+
+            // Apply the swings to every riding and tally the perturbed votes.
+            Arrays.fill(partyTotals, 0);
+            Arrays.fill(electorsWon, 0);
+            Arrays.fill(seats[ScenarioResult.FPTP], 0);
+            for (int r = 0; r < this.tally.getNumRidings(); r++) {
+                int winner = applySwings(r, swingDeltas, ridingVotes);
+                for (int i = 0; i < numParties; i++) {
+                    partyTotals[i] += ridingVotes[i];
+                }
+                if (winner != -1) {
+                    seats[ScenarioResult.FPTP][winner]++;
+                    electorsWon[winner] += this.tally.getElectors(r);
+                }
+            }
+
+            // Find the NPV winner among the parties with candidates, breaking
+            // ties in the order in which their first candidate appears, as
+            // VoteTally.getNPVWinner() does.
+            int npvWinner = -1;
+            for (int rank = 0; rank < numParties; rank++) {
+                int party = this.tally.getSeenParty(rank);
+                if (this.tally.getCandidateCount(party) > 0
+                        && (npvWinner == -1 || partyTotals[party] > partyTotals[npvWinner])) {
+                    npvWinner = party;
+                }
+            }
+
+            // Compute the seats under every other system.
+            VoteTally.computePRSeats(partyTotals, this.totalSeats, seats[ScenarioResult.PR]);
+            VoteTally.computePRSeats(partyTotals, this.tally.getNumRidings(), prSeatsMMP);
+            VoteTally.computeMMPSeats(seats[ScenarioResult.FPTP], prSeatsMMP, seats[ScenarioResult.MMP]);
+            VoteTally.computeWeightedSeats(electorsWon, this.tally.getTotalElectors(), this.tally.getNumRidings(),
+                    this.totalSeats, seats[ScenarioResult.W_FPTP]);
+
+            this.result.addTrial(npvWinner, seats);
+        }
+    }
+
+    /**
+     * Scrambles the seed of a trial with the SplitMix64 finalizer. Generators
+     * seeded with consecutive numbers give strongly correlated first draws,
+     * so the seed and trial number are mixed first to keep the trials
+     * independent.
+     *
+     * @param seed the seed plus the trial number.
+     * @return the seed of the trial's random number generator.
+     */
+    private static long scrambleSeed(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Draws the change in vote share of each swing for one trial. A swing that
+     * affects every party draws an independent change for each party.
+     *
+     * @param random      the random number generator of the trial.
+     * @param swingDeltas the array in which the change of each swing is
+     *                    stored, indexed by swing and then by party ID.
+     */
+    private void drawSwings(Random random, double[] swingDeltas) {
+        int numParties = this.tally.getNumParties();
+
+        for (int s = 0; s < this.swings.size(); s++) {
+            VoteSwing swing = this.swings.get(s);
+            for (int i = 0; i < numParties; i++) {
+                if (this.swingParties[s] == -1 || this.swingParties[s] == i) {
+                    swingDeltas[s * numParties + i] = swing.getShift() + swing.getStdDev() * random.nextGaussian();
+                } else {
+                    swingDeltas[s * numParties + i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the drawn swings to each party's votes in a given riding, and
+     * returns the party with the most votes afterwards. A swing moves a party's
+     * votes by its change in vote share times the number of votes cast in the
+     * riding, without going below 0. Only parties that received votes in the
+     * riding (or that won it) are affected, since a swing can't create a
+     * candidate. Ties are broken the same way as in the VoteTally, in favour
+     * of the party whose candidate comes first in the riding.
+     *
+     * @param riding      the position of the riding in the tally.
+     * @param swingDeltas the change of each swing, indexed by swing and then
+     *                    by party ID.
+     * @param ridingVotes the array in which the swung votes of each party are
+     *                    stored.
+     * @return the ID of the winning party, or -1 if the riding has no winner.
+     */
+    private int applySwings(int riding, double[] swingDeltas, long[] ridingVotes) {
+        int numParties = this.tally.getNumParties();
+        int baseWinner = this.tally.getRidingWinner(riding);
+        long total = this.tally.getRidingTotal(riding);
+        ProvinceTerritory location = this.tally.getLocation(riding);
+        int winner = -1;
+
+        for (int i = 0; i < numParties; i++) {
+            long votes = this.tally.getVotes(riding, i);
+
+            if (votes > 0 || i == baseWinner) {
+                double delta = 0;
+                for (int s = 0; s < this.swings.size(); s++) {
+                    if (this.swings.get(s).appliesTo(location)) {
+                        delta += swingDeltas[s * numParties + i];
+                    }
+                }
+                votes = Math.max(0, votes + Math.round(delta * total));
+            }
+
+            ridingVotes[i] = votes;
+        }
+
+        // Find the winner among the running parties in candidate order.
+        for (Candidate currCand : this.ridings.get(riding).getCandidateList()) {
+            int partyId = currCand.getPartyId();
+            if (partyId != -1 && (this.tally.getVotes(riding, partyId) > 0 || partyId == baseWinner)
+                    && (winner == -1 || ridingVotes[partyId] > ridingVotes[winner])) {
+                winner = partyId;
+            }
+        }
+
+        return winner;
+    }
+}
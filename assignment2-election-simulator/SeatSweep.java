@@ -0,0 +1,171 @@
+/**
+ * SeatSweep.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 29
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Stores the PR and W-FPTP seat distributions of an election
+ *          for every house size in a range, such as 300 to 400 seats. Each
+ *          distribution is a row of a dense house size x party matrix (one
+ *          row per house size, indexed by party ID), computed by a VoteTally
+ *          from aggregates it only computes once for the whole range. The
+ *          sweep is a snapshot: it doesn't change if vote counts change
+ *          afterwards. Provides getter methods for the range and the matrices,
+ *          and methods to get the distribution for one house size in the same
+ *          form as the single-size methods of ElectionSimulator.
+ */
+
+import java.util.ArrayList;
+
+public class SeatSweep {
+    private VoteTally tally;
+    private int minSeats;
+    private int maxSeats;
+    private int numParties;
+    private int apportionmentMethod;
+
+    // Per house size x party (row-major, one row per house size).
+    private int[] prSeats;
+    private int[] weightedSeats;
+
+    // Per party.
+    private boolean[] weightedIncluded;
+    private int[] weightedOrder;
+
+    /**
+     * Constructs a new SeatSweep from matrices computed by a VoteTally.
+     *
+     * @param tally               the tally from which the seats were computed,
+     *                            used to name the parties.
+     * @param minSeats            the smallest house size of the range.
+     * @param maxSeats            the largest house size of the range.
+     * @param apportionmentMethod the apportionment method used for the PR
+     *                            seats, as defined in Apportionment.
+     * @param prSeats             the PR seats of each party for each house
+     *                            size.
+     * @param weightedSeats       the W-FPTP seats of each party for each house
+     *                            size.
+     * @param weightedIncluded    whether each party is included in the W-FPTP
+     *                            distributions.
+     * @param weightedOrder       the place of each party in the W-FPTP
+     *                            distributions.
+     */
+    SeatSweep(VoteTally tally, int minSeats, int maxSeats, int apportionmentMethod, int[] prSeats,
+            int[] weightedSeats, boolean[] weightedIncluded, int[] weightedOrder) {
+        this.tally = tally;
+        this.minSeats = minSeats;
+        this.maxSeats = maxSeats;
+        this.numParties = tally.getNumParties();
+        this.apportionmentMethod = apportionmentMethod;
+        this.prSeats = prSeats;
+        this.weightedSeats = weightedSeats;
+        this.weightedIncluded = weightedIncluded;
+        this.weightedOrder = weightedOrder;
+    }
+
+    public int getMinSeats() {
+        return this.minSeats;
+    }
+
+    public int getMaxSeats() {
+        return this.maxSeats;
+    }
+
+    public int getNumParties() {
+        return this.numParties;
+    }
+
+    public int getApportionmentMethod() {
+        return this.apportionmentMethod;
+    }
+
+    public int[] getPRSeatMatrix() {
+        return this.prSeats;
+    }
+
+    public int[] getWeightedSeatMatrix() {
+        return this.weightedSeats;
+    }
+
+    /**
+     * Returns the number of PR seats won by a party for a given house size.
+     *
+     * @param totalSeats the house size, within the range of the sweep.
+     * @param party      the ID of the party.
+     * @return the number of PR seats won by the party.
+     */
+    public int getPRSeats(int totalSeats, int party) {
+        return this.prSeats[getRowStart(totalSeats) + party];
+    }
+
+    /**
+     * Returns the number of W-FPTP seats won by a party for a given house
+     * size.
+     *
+     * @param totalSeats the house size, within the range of the sweep.
+     * @param party      the ID of the party.
+     * @return the number of W-FPTP seats won by the party.
+     */
+    public int getWeightedSeats(int totalSeats, int party) {
+        return this.weightedSeats[getRowStart(totalSeats) + party];
+    }
+
+    /**
+     * Returns the PR seat distribution for a given house size, as
+     * ElectionSimulator.getPRSeatDistribution() would.
+     *
+     * @param totalSeats the house size, within the range of the sweep.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats) {
+        return this.tally.toPartyResults(getRow(this.prSeats, totalSeats), null);
+    }
+
+    /**
+     * Returns the W-FPTP seat distribution for a given house size, as
+     * ElectionSimulator.getWeightedFPTPSeatDistribution() would.
+     *
+     * @param totalSeats the house size, within the range of the sweep.
+     * @return an ArrayList of PartyResult, each containing a party and its
+     *         final weighted seat count.
+     */
+    public ArrayList<PartyResult> getWeightedFPTPSeatDistribution(int totalSeats) {
+        return this.tally.toPartyResults(getRow(this.weightedSeats, totalSeats), this.weightedIncluded,
+                this.weightedOrder);
+    }
+
+    /**
+     * Copies the row of a given matrix for a given house size.
+     *
+     * @param matrix     the matrix.
+     * @param totalSeats the house size, within the range of the sweep.
+     * @return the seats of each party, indexed by party ID.
+     */
+    private int[] getRow(int[] matrix, int totalSeats) {
+        int[] row = new int[this.numParties];
+        System.arraycopy(matrix, getRowStart(totalSeats), row, 0, this.numParties);
+        return row;
+    }
+
+    /**
+     * Returns the position in the matrices at which the row for a given house
+     * size starts.
+     *
+     * @param totalSeats the house size.
+     * @return the position of the row's first party.
+     * @throws IllegalArgumentException if the house size is outside the range
+     *                                  of the sweep.
+     */
+    private int getRowStart(int totalSeats) {
+        if (totalSeats < this.minSeats || totalSeats > this.maxSeats) {
+            throw new IllegalArgumentException("House size " + totalSeats + " is outside the sweep ("
+                    + this.minSeats + " to " + this.maxSeats + ").");
+        }
+        return (totalSeats - this.minSeats) * this.numParties;
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * TextResultsWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 31
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Writes the results of an election as a human-readable text
+ *          summary: a header, the total votes per party, then each electoral
+ *          system with its seat distribution, winner, and runner-up. Ridings,
+ *          if any are written, are listed at the end, one per line. Output is
+ *          encoded in UTF-8 and buffered.
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+public class TextResultsWriter implements iResultsWriter {
+    private PrintWriter pw;
+    private boolean ridingsStarted;
+
+    /**
+     * Constructs a new TextResultsWriter on a given output stream, and writes
+     * the header of the summary.
+     *
+     * @param out the stream to which the results are written.
+     */
+    public TextResultsWriter(OutputStream out) {
+        this.pw = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IOHelper.OUTPUT_BUFFER_SIZE));
+        this.ridingsStarted = false;
+
+        this.pw.println("Election Results Summary");
+        this.pw.println("=========================");
+    }
+
+    /**
+     * Writes the total number of votes won by each party nationally, one
+     * party per line.
+     *
+     * @param totals the vote total of each party.
+     */
+    @Override
+    public void writeTotalVotes(ArrayList<PartyResult> totals) {
+        this.pw.println("Total Votes per Party:");
+        printSeatDistribution(totals);
+    }
+
+    /**
+     * Writes the winner of the national popular vote on a single line.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param winner       the name of the winning party.
+     */
+    @Override
+    public void writeNPVWinner(int methodNumber, String winner) {
+        this.pw.println("Method #" + methodNumber + " - NPV Winner: " + winner);
+        this.pw.println();
+    }
+
+    /**
+     * Writes the seat distribution of an electoral system, followed by its
+     * winner and runner-up.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param system       the name of the electoral system.
+     * @param seats        the number of seats won by each party.
+     */
+    @Override
+    public void writeSeatDistribution(int methodNumber, String system, ArrayList<PartyResult> seats) {
+        this.pw.println("Method #" + methodNumber + " - " + system + ":");
+        printSeatDistribution(seats);
+        printTopTwo(seats);
+    }
+
+    /**
+     * Writes the results of one riding on a single line, under a "Ridings:"
+     * heading written before the first riding.
+     *
+     * @param riding       the riding.
+     * @param winningParty the name of the party that won the riding.
+     */
+    @Override
+    public void writeRiding(Riding riding, String winningParty) {
+        if (!this.ridingsStarted) {
+            this.pw.println("Ridings:");
+            this.ridingsStarted = true;
+        }
+        this.pw.printf("\t%s (%s) #%d: %d of %d electors (%.2f%%), won by %s\n", riding.getName(),
+                riding.getLocation().getAbbreviation(), riding.getId(), riding.getTotalVotes(),
+                riding.getElectors(), riding.getTurnout() * 100, winningParty);
+    }
+
+    /**
+     * Flushes the summary and closes the output.
+     *
+     * @throws IOException if the output could not be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        this.pw.close();
+        if (this.pw.checkError()) {
+            throw new IOException("Error writing the results.");
+        }
+    }
+
+    /**
+     * Prints a seat distribution, one party per line. Indents output and ends
+     * with a blank newline.
+     *
+     * @param seats the seat distribution of the election.
+     */
+    private void printSeatDistribution(ArrayList<PartyResult> seats) {
+        for (PartyResult currParty : seats) {
+            this.pw.printf("\t%s: %.2f\n", currParty.getParty(), currParty.getCount());
+        }
+        this.pw.println();
+    }
+
+    /**
+     * Prints the winner and the runner-up in an election given an ArrayList
+     * of PartyResult containing the seat distribution. Indents output and
+     * ends with a blank newline.
+     *
+     * @param seats the seat distribution of the election.
+     */
+    private void printTopTwo(ArrayList<PartyResult> seats) {
+        String[] topTwo = PartyResult.getTopTwoPartyNames(seats);
+        if (!topTwo[0].equals("N/A") && !topTwo[1].equals("N/A")) {
+            this.pw.println("\tWinner: " + topTwo[0]);
+            this.pw.println("\tRunner-up: " + topTwo[1]);
+        } else if (!topTwo[0].equals("N/A")) {
+            this.pw.println("\tWinner: " + topTwo[0]);
+        }
+        this.pw.println();
+    }
+}
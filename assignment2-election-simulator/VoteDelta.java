@@ -0,0 +1,47 @@
+/**
+ * VoteDelta.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 17
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Represents a change in the vote count of one candidate, as
+ *          reported while results come in on election night. Contains the ID
+ *          of the riding, the name of the candidate, and the number of votes
+ *          to add (which is negative for a correction). Provides getter
+ *          methods for each of these instance variables.
+ */
+
+public class VoteDelta {
+    private int ridingId;
+    private String candidateName;
+    private int delta;
+
+    /**
+     * Constructs a new VoteDelta for a given candidate of a given riding.
+     *
+     * @param ridingId      the ID of the riding.
+     * @param candidateName the name of the candidate.
+     * @param delta         the number of votes to add to the candidate.
+     */
+    public VoteDelta(int ridingId, String candidateName, int delta) {
+        this.ridingId = ridingId;
+        this.candidateName = candidateName;
+        this.delta = delta;
+    }
+
+    public int getRidingId() {
+        return this.ridingId;
+    }
+
+    public String getCandidateName() {
+        return this.candidateName;
+    }
+
+    public int getDelta() {
+        return this.delta;
+    }
+}
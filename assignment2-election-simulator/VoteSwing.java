@@ -0,0 +1,117 @@
+/**
+ * VoteSwing.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 10
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Represents a swing in vote share used in a what-if
+ *          scenario. A swing moves a party's share of the votes in every
+ *          affected riding by a given amount (e.g. 0.02 for a gain of 2% of the
+ *          votes cast), plus normally distributed noise with a given standard
+ *          deviation, which is drawn once per trial. Three kinds of swings are
+ *          supported: a uniform swing, which applies independent noise to every
+ *          party in every riding (party is null); a per-party swing, which
+ *          applies to one party across the country (province is null); and a
+ *          per-province swing, which applies to one party within one
+ *          ProvinceTerritory. Provides getter methods for each of these
+ *          instance variables and a method to check whether the swing applies
+ *          to a given riding.
+ */
+
+public class VoteSwing {
+    private String party;
+    private ProvinceTerritory province;
+    private double shift;
+    private double stdDev;
+
+    /**
+     * Constructs a new uniform swing, which adds normally distributed noise
+     * with a given standard deviation to the vote share of every party in
+     * every riding.
+     *
+     * @param stdDev the standard deviation of the swing, as a share of the
+     *               votes cast in each riding.
+     */
+    public VoteSwing(double stdDev) {
+        this(null, null, 0, stdDev);
+    }
+
+    /**
+     * Constructs a new per-party swing, which moves the vote share of a given
+     * party in every riding.
+     *
+     * @param party  the name of the party affected by the swing.
+     * @param shift  the average change in the party's vote share.
+     * @param stdDev the standard deviation of the change.
+     */
+    public VoteSwing(String party, double shift, double stdDev) {
+        this(party, null, shift, stdDev);
+    }
+
+    /**
+     * Constructs a new swing that moves the vote share of a given party in
+     * every riding of a given province/territory. If party is null, the swing
+     * applies to every party; if province is null, the swing applies to every
+     * riding. Throws an IllegalArgumentException if the standard deviation is
+     * negative.
+     *
+     * @param party    the name of the party affected, or null for every party.
+     * @param province the province/territory affected, or null for every
+     *                 riding.
+     * @param shift    the average change in the party's vote share.
+     * @param stdDev   the standard deviation of the change.
+     */
+    public VoteSwing(String party, ProvinceTerritory province, double shift, double stdDev) {
+        if (stdDev < 0) {
+            throw new IllegalArgumentException("Standard deviation must be non-negative.");
+        }
+
+        this.party = party;
+        this.province = province;
+        this.shift = shift;
+        this.stdDev = stdDev;
+    }
+
+    public String getParty() {
+        return this.party;
+    }
+
+    public ProvinceTerritory getProvince() {
+        return this.province;
+    }
+
+    public double getShift() {
+        return this.shift;
+    }
+
+    public double getStdDev() {
+        return this.stdDev;
+    }
+
+    /**
+     * Returns true if the swing applies to ridings located in a given
+     * province/territory.
+     *
+     * @param location the province/territory of the riding.
+     * @return true if the swing applies to the riding; false otherwise.
+     */
+    public boolean appliesTo(ProvinceTerritory location) {
+        return this.province == null || this.province == location;
+    }
+
+    /**
+     * Returns a string representation of the swing.
+     *
+     * @return a string representation of the current VoteSwing.
+     */
+    public String toString() {
+        String affectedParty = this.party == null ? "All parties" : this.party;
+        String affectedProvince = this.province == null ? "nationally" : "in " + this.province.getAbbreviation();
+        return String.format("%s %s: %+.2f%% (sd %.2f%%)", affectedParty, affectedProvince, this.shift * 100,
+                this.stdDev * 100);
+    }
+}
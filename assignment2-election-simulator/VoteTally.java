@@ -0,0 +1,751 @@
+/**
+ * VoteTally.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 8
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Stores the votes of an election in columnar form, so that
+ *          every electoral system can be computed without walking the
+ *          candidates of each riding again. Contains a riding x party matrix of
+ *          vote counts (indexed by the position of the riding and by party ID),
+ *          the total votes, electors, location, and winning party of each
+ *          riding, and the national vote total, candidate count, FPTP seat
+ *          count, and electors won by each party. All of these are computed in
+ *          a single pass over the ridings when the tally is built, which can
+ *          optionally be split across a ForkJoinPool. Provides getter methods
+ *          for the stored values, and methods to get the national vote totals
+ *          and the NPV winner, as well as the seat distributions under FPTP,
+ *          PR, MMP, and W-FPTP, where PR seats can be allocated by any
+ *          Apportionment method, and a SeatSweep of the PR and W-FPTP
+ *          distributions over a range of house sizes. The seat calculations
+ *          are also available as static methods on plain arrays, so that other
+ *          tallies (such as simulated scenarios) can reuse them. Once built,
+ *          the tally can be updated in place as vote counts change, touching
+ *          only the changed riding's row and the per-party totals, unless it
+ *          has been frozen. Results list parties in the order in which they
+ *          would be added up one candidate at a time: the order in which their
+ *          first candidate appears, or for FPTP and W-FPTP, the order in which
+ *          they first win a riding.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class VoteTally {
+    private PartyRegistry parties;
+    private int numRidings;
+    private int numParties;
+
+    // Per riding x party (row-major, one row per riding).
+    private long[] votes;
+
+    // Per riding.
+    private long[] ridingTotals;
+    private int[] electors;
+    private int[] winners;
+    private ProvinceTerritory[] locations;
+
+    // Per party.
+    private long[] partyTotals;
+    private int[] candidateCounts;
+    private int[] seatsWon;
+    private long[] electorsWon;
+
+    // Per party, its place in results: the rank of its first candidate, and
+    // the position of the first riding (with electors) that it won.
+    private int[] seenRanks;
+    private int[] firstWins;
+    private int[] firstWeightedWins;
+
+    // The party IDs in order of their first candidate.
+    private int[] seenOrder;
+
+    private long totalElectors;
+    private boolean frozen;
+
+    /**
+     * Constructs a new VoteTally from a given list of ridings. Each candidate
+     * is added to the vote count of its party in its riding, then the winning
+     * party of each riding is found and credited with the riding's seat and
+     * electors. Candidates whose party ID is -1 count towards their riding's
+     * total, but not towards any party. If parallel is true, the ridings are
+     * split into ranges that are tallied on the common ForkJoinPool, and the
+     * per-party totals of each range are merged afterwards; the result is
+     * identical to tallying the ridings sequentially.
+     *
+     * @param ridings  the ridings to be tallied.
+     * @param parties  the PartyRegistry that assigned the candidates' party
+     *                 IDs.
+     * @param parallel whether the ridings should be tallied in parallel.
+     */
+    public VoteTally(ArrayList<Riding> ridings, PartyRegistry parties, boolean parallel) {
+        this.parties = parties;
+        this.numRidings = ridings.size();
+        this.numParties = parties.size();
+
+        this.votes = new long[this.numRidings * this.numParties];
+        this.ridingTotals = new long[this.numRidings];
+        this.electors = new int[this.numRidings];
+        this.winners = new int[this.numRidings];
+        this.locations = new ProvinceTerritory[this.numRidings];
+
+        // Fill in the rows of every riding, keeping per-party totals in the
+        // task.
+        VoteTallyTask task = new VoteTallyTask(this, ridings, 0, this.numRidings);
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.tallyRange();
+        }
+
+        this.partyTotals = task.getPartyTotals();
+        this.candidateCounts = task.getCandidateCounts();
+        this.seatsWon = task.getSeatsWon();
+        this.electorsWon = task.getElectorsWon();
+        this.seenRanks = task.getSeenRanks();
+        this.firstWins = task.getFirstWins();
+        this.firstWeightedWins = task.getFirstWeightedWins();
+        this.totalElectors = task.getTotalElectors();
+
+        // Parties without candidates come after the others, in ID order.
+        int numSeen = task.getNumSeen();
+        for (int i = 0; i < this.numParties; i++) {
+            if (this.candidateCounts[i] == 0) {
+                this.seenRanks[i] = numSeen++;
+            }
+        }
+        this.seenOrder = new int[this.numParties];
+        for (int i = 0; i < this.numParties; i++) {
+            this.seenOrder[this.seenRanks[i]] = i;
+        }
+        this.frozen = false;
+    }
+
+    public PartyRegistry getPartyRegistry() {
+        return this.parties;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Freezes the tally, so that any later attempt to add votes or update a
+     * riding's winner throws an IllegalStateException.
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    public int getNumRidings() {
+        return this.numRidings;
+    }
+
+    public int getNumParties() {
+        return this.numParties;
+    }
+
+    /**
+     * Returns the number of votes won by a given party in a given riding.
+     *
+     * @param riding the position of the riding in the tallied list.
+     * @param party  the ID of the party.
+     * @return the number of votes won by the party in the riding.
+     */
+    public long getVotes(int riding, int party) {
+        return this.votes[riding * this.numParties + party];
+    }
+
+    public long getRidingTotal(int riding) {
+        return this.ridingTotals[riding];
+    }
+
+    public int getElectors(int riding) {
+        return this.electors[riding];
+    }
+
+    public ProvinceTerritory getLocation(int riding) {
+        return this.locations[riding];
+    }
+
+    public long getTotalElectors() {
+        return this.totalElectors;
+    }
+
+    /**
+     * Returns the ID of the party with the most votes in a given riding, or -1
+     * if the riding has no candidates with a registered party.
+     *
+     * @param riding the position of the riding in the tallied list.
+     * @return the ID of the winning party, or -1 if there is none.
+     */
+    public int getRidingWinner(int riding) {
+        return this.winners[riding];
+    }
+
+    public long getPartyTotal(int party) {
+        return this.partyTotals[party];
+    }
+
+    public int getCandidateCount(int party) {
+        return this.candidateCounts[party];
+    }
+
+    /**
+     * Returns the ID of the party whose first candidate appears in a given
+     * position among the parties. Parties without candidates come last, in ID
+     * order.
+     *
+     * @param rank the position of the party, from 0 to getNumParties() - 1.
+     * @return the ID of the party in that position.
+     */
+    public int getSeenParty(int rank) {
+        return this.seenOrder[rank];
+    }
+
+    /**
+     * Returns the total number of votes for each party across all ridings.
+     * Every party with at least one candidate is included, even if it received
+     * no votes, in the order in which their first candidate appears.
+     *
+     * @return an ArrayList of PartyResult, each containing a party and its
+     *         total vote count.
+     */
+    public ArrayList<PartyResult> getTotalVotesPerParty() {
+        ArrayList<PartyResult> results = new ArrayList<PartyResult>();
+
+        for (int party : this.seenOrder) {
+            if (this.candidateCounts[party] > 0) {
+                PartyResult currParty = new PartyResult(this.parties.getPartyName(party));
+                currParty.increment(this.partyTotals[party]);
+                results.add(currParty);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the name of the party with the most votes across all ridings. If
+     * several parties are tied, the one whose first candidate appears earliest
+     * is returned.
+     *
+     * @return the name of the party with the most votes, or null if no party
+     *         has any candidates.
+     */
+    public String getNPVWinner() {
+        int winner = -1;
+
+        for (int party : this.seenOrder) {
+            if (this.candidateCounts[party] > 0
+                    && (winner == -1 || this.partyTotals[party] > this.partyTotals[winner])) {
+                winner = party;
+            }
+        }
+
+        String party = null;
+        if (winner != -1) {
+            party = this.parties.getPartyName(winner);
+        }
+
+        return party;
+    }
+
+    /**
+     * Returns the number of seats each party wins under a first-past-the-post
+     * system, using the riding winners computed when the tally was built.
+     *
+     * @return an ArrayList of PartyResult containing the total number of seats
+     *         won by each party (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getFPTPSeatDistribution() {
+        return toPartyResults(this.seatsWon, null, this.firstWins);
+    }
+
+    /**
+     * Returns the number of seats each party wins under a proportional
+     * representation system. Each party's share of the national vote is
+     * multiplied by the total number of seats and rounded to the nearest
+     * integer.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats) {
+        return getPRSeatDistribution(totalSeats, Apportionment.ROUNDED);
+    }
+
+    /**
+     * Returns the number of seats each party wins under a proportional
+     * representation system, with the seats allocated from the national vote
+     * totals by a given apportionment method.
+     *
+     * @param totalSeats the total number of seats nationally.
+     * @param method     the apportionment method, as defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with the
+     *         number of seats they have won (excluding parties with 0 seats).
+     */
+    public ArrayList<PartyResult> getPRSeatDistribution(int totalSeats, int method) {
+        int[] seats = new int[this.numParties];
+        Apportionment.allocate(method, this.partyTotals, totalSeats, seats);
+        return toPartyResults(seats, null);
+    }
+
+    /**
+     * Returns the number of seats each party wins under a mixed-member
+     * proportional system, where the number of PR seats is the number of
+     * ridings. Each party keeps its FPTP seats and receives "top-up" seats
+     * until it reaches its PR seat count, so its final count is the larger of
+     * the two. Parties that won FPTP seats are listed first, as in
+     * getFPTPSeatDistribution(), followed by those that only won "top-up"
+     * seats.
+     *
+     * @return an ArrayList of PartyResult containing each party along with
+     *         the number of MMP seats they have won.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution() {
+        return getMMPSeatDistribution(Apportionment.ROUNDED);
+    }
+
+    /**
+     * Returns the number of seats each party wins under a mixed-member
+     * proportional system, with the PR seats allocated by a given
+     * apportionment method.
+     *
+     * @param method the apportionment method used for the PR seats, as
+     *               defined in Apportionment.
+     * @return an ArrayList of PartyResult containing each party along with
+     *         the number of MMP seats they have won.
+     */
+    public ArrayList<PartyResult> getMMPSeatDistribution(int method) {
+        int[] prSeats = new int[this.numParties];
+        int[] mmpSeats = new int[this.numParties];
+        Apportionment.allocate(method, this.partyTotals, this.numRidings, prSeats);
+        computeMMPSeats(this.seatsWon, prSeats, mmpSeats);
+        return toPartyResults(mmpSeats, null, getMMPOrder());
+    }
+
+    /**
+     * Returns the number of seats each party wins under a weighted first-past-
+     * the-post system. Each riding with electors is worth its elector count
+     * divided by the national average, which amounts to weighting each party
+     * by the number of electors in the ridings it won. Weights are then scaled
+     * so that they add up to the total number of seats, and rounded to the
+     * nearest integer. Every party that won a riding with electors is
+     * included, even if its rounded seat count is 0.
+     *
+     * @param totalSeats the total number of seats available in the election.
+     * @return an ArrayList of PartyResult, each containing a party and its
+     *         final weighted seat count.
+     */
+    public ArrayList<PartyResult> getWeightedFPTPSeatDistribution(int totalSeats) {
+        int[] seats = new int[this.numParties];
+        boolean[] include = new boolean[this.numParties];
+
+        if (computeWeightedSeats(this.electorsWon, this.totalElectors, this.numRidings, totalSeats, seats)) {
+            for (int i = 0; i < this.numParties; i++) {
+                include[i] = this.electorsWon[i] > 0;
+            }
+        }
+
+        return toPartyResults(seats, include, this.firstWeightedWins);
+    }
+
+    /**
+     * Returns the PR and W-FPTP seat distributions for every house size in a
+     * given range. The national totals, the electors won by each party, and
+     * the scaling of W-FPTP weights are only computed once for the whole
+     * range, so the sweep costs little more than a single distribution.
+     *
+     * @param minSeats the smallest house size.
+     * @param maxSeats the largest house size.
+     * @param method   the apportionment method used for the PR seats, as
+     *                 defined in Apportionment.
+     * @return the seat distributions for each house size.
+     * @throws IllegalArgumentException if the range of house sizes is
+     *                                  invalid.
+     */
+    public SeatSweep getSeatSweep(int minSeats, int maxSeats, int method) {
+        // Check the range before sizing the result matrices from it.
+        if (minSeats < 0 || maxSeats < minSeats) {
+            throw new IllegalArgumentException("Invalid range of seats: " + minSeats + " to " + maxSeats);
+        }
+
+        int[] prSeats = new int[(maxSeats - minSeats + 1) * this.numParties];
+        int[] weightedSeats = new int[prSeats.length];
+        boolean[] include = new boolean[this.numParties];
+
+        Apportionment.allocateRange(method, this.partyTotals, minSeats, maxSeats, prSeats);
+        if (computeWeightedSeatRange(this.electorsWon, this.totalElectors, this.numRidings, minSeats, maxSeats,
+                weightedSeats)) {
+            for (int i = 0; i < this.numParties; i++) {
+                include[i] = this.electorsWon[i] > 0;
+            }
+        }
+
+        return new SeatSweep(this, minSeats, maxSeats, method, prSeats, weightedSeats, include,
+                this.firstWeightedWins.clone());
+    }
+
+    /**
+     * Computes the number of PR seats won by each party from the national vote
+     * totals, rounding each party's share of the seats to the nearest integer.
+     * If no votes were cast, every party gets 0 seats.
+     *
+     * @param partyTotals the national vote total of each party.
+     * @param totalSeats  the total number of seats nationally.
+     * @param seats       the array in which the seat count of each party is
+     *                    stored.
+     */
+    public static void computePRSeats(long[] partyTotals, int totalSeats, int[] seats) {
+        // Get the total number of votes cast nationally.
+        long totalNationalVotes = 0;
+        for (int i = 0; i < partyTotals.length; i++) {
+            totalNationalVotes += partyTotals[i];
+        }
+
+        for (int i = 0; i < partyTotals.length; i++) {
+            if (totalNationalVotes > 0) {
+                seats[i] = (int) Math.round(((double) partyTotals[i] / totalNationalVotes) * totalSeats);
+            } else {
+                seats[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Computes the number of MMP seats won by each party, which is the larger
+     * of its FPTP and PR seat counts.
+     *
+     * @param fptpSeats the number of FPTP seats won by each party.
+     * @param prSeats   the number of PR seats won by each party.
+     * @param seats     the array in which the seat count of each party is
+     *                  stored.
+     */
+    public static void computeMMPSeats(int[] fptpSeats, int[] prSeats, int[] seats) {
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = Math.max(fptpSeats[i], prSeats[i]);
+        }
+    }
+
+    /**
+     * Computes the number of W-FPTP seats won by each party from the number of
+     * electors in the ridings it won. Returns false, leaving every party with 0
+     * seats, if no party won a riding with electors.
+     *
+     * @param electorsWon   the number of electors in the ridings won by each
+     *                      party.
+     * @param totalElectors the number of electors across all ridings.
+     * @param numRidings    the number of ridings.
+     * @param totalSeats    the total number of seats available.
+     * @param seats         the array in which the seat count of each party is
+     *                      stored.
+     * @return true if seats were attributed; false otherwise.
+     */
+    public static boolean computeWeightedSeats(long[] electorsWon, long totalElectors, int numRidings,
+            int totalSeats, int[] seats) {
+        // Add up the electors of all ridings won by any party.
+        long sumElectorsWon = 0;
+        for (int i = 0; i < electorsWon.length; i++) {
+            sumElectorsWon += electorsWon[i];
+        }
+
+        // Scale each party's electors so that the seats add up to totalSeats.
+        double averageElectors = (double) totalElectors / numRidings;
+        double scalingFactor = totalSeats / (sumElectorsWon / averageElectors);
+        for (int i = 0; i < electorsWon.length; i++) {
+            if (sumElectorsWon > 0) {
+                seats[i] = (int) Math.round(electorsWon[i] / averageElectors * scalingFactor);
+            } else {
+                seats[i] = 0;
+            }
+        }
+
+        return sumElectorsWon > 0;
+    }
+
+    /**
+     * Computes the number of W-FPTP seats won by each party for every house
+     * size in a range, one row per size, with the same rounding as
+     * computeWeightedSeats(). Each party's weight is only computed once, so
+     * each size only costs a multiplication per party.
+     *
+     * @param electorsWon   the number of electors in the ridings won by each
+     *                      party.
+     * @param totalElectors the number of electors across all ridings.
+     * @param numRidings    the number of ridings.
+     * @param minSeats      the smallest house size.
+     * @param maxSeats      the largest house size.
+     * @param seats         the array in which the seat count of each party is
+     *                      stored for each house size.
+     * @return true if seats were attributed; false otherwise.
+     */
+    public static boolean computeWeightedSeatRange(long[] electorsWon, long totalElectors, int numRidings,
+            int minSeats, int maxSeats, int[] seats) {
+        int numParties = electorsWon.length;
+        long sumElectorsWon = 0;
+        for (int i = 0; i < numParties; i++) {
+            sumElectorsWon += electorsWon[i];
+        }
+
+        // Get each party's weight, and the total weight, once.
+        double averageElectors = (double) totalElectors / numRidings;
+        double totalWeight = sumElectorsWon / averageElectors;
+        double[] weights = new double[numParties];
+        for (int i = 0; i < numParties; i++) {
+            weights[i] = electorsWon[i] / averageElectors;
+        }
+
+        for (int j = minSeats; j <= maxSeats; j++) {
+            int rowStart = (j - minSeats) * numParties;
+            double scalingFactor = j / totalWeight;
+            for (int i = 0; i < numParties; i++) {
+                if (sumElectorsWon > 0) {
+                    seats[rowStart + i] = (int) Math.round(weights[i] * scalingFactor);
+                } else {
+                    seats[rowStart + i] = 0;
+                }
+            }
+        }
+
+        return sumElectorsWon > 0;
+    }
+
+    /**
+     * Adds the candidates of a given riding to its row of the tally, then
+     * finds the riding's winning party and credits it with the riding's seat
+     * and electors in the given task's partial totals. Ties are broken in
+     * favour of the party whose first candidate appears earliest in the
+     * riding. Only the riding's own row is written, so different ridings can
+     * be tallied at the same time.
+     *
+     * @param index   the position of the riding in the tallied list.
+     * @param riding  the riding to be added.
+     * @param partial the task whose per-party totals should be updated.
+     */
+    void tallyRiding(int index, Riding riding, VoteTallyTask partial) {
+        int rowStart = index * this.numParties;
+        List<Candidate> candidates = riding.getCandidateList();
+
+        // Add each candidate's votes to its party's count in the riding.
+        long total = 0;
+        for (Candidate currCand : candidates) {
+            int partyId = currCand.getPartyId();
+            total += currCand.getVotes();
+            if (partyId != -1) {
+                this.votes[rowStart + partyId] += currCand.getVotes();
+                partial.addCandidate(partyId, currCand.getVotes());
+            }
+        }
+        this.ridingTotals[index] = total;
+        this.electors[index] = riding.getElectors();
+        this.locations[index] = riding.getLocation();
+
+        // Find the party with the most votes.
+        int winner = findRidingWinner(index, candidates);
+        this.winners[index] = winner;
+        partial.addRidingResult(index, winner, riding.getElectors());
+    }
+
+    /**
+     * Adds a given number of votes to a party's count in a given riding, along
+     * with the riding's total and the party's national total. The riding's
+     * winner is not updated; updateRidingWinner() must be called once all of
+     * the riding's changes have been added.
+     *
+     * @param riding the position of the riding in the tallied list.
+     * @param party  the ID of the party, or -1 if the votes only count towards
+     *               the riding's total.
+     * @param delta  the number of votes to be added (negative for a
+     *               correction).
+     * @throws IllegalStateException if the tally is frozen.
+     */
+    public void addVotes(int riding, int party, int delta) {
+        checkNotFrozen();
+        this.ridingTotals[riding] += delta;
+        if (party != -1) {
+            this.votes[riding * this.numParties + party] += delta;
+            this.partyTotals[party] += delta;
+        }
+    }
+
+    /**
+     * Finds the winning party of a given riding again after its votes have
+     * changed. If the winner changed, the riding's seat and electors are moved
+     * from the previous winner to the new one, and the first riding won by
+     * each of them is updated. Ties are broken the same way as when the tally
+     * was built.
+     *
+     * @param index  the position of the riding in the tallied list.
+     * @param riding the riding, whose candidates give the tie-breaking order.
+     * @throws IllegalStateException if the tally is frozen.
+     */
+    public void updateRidingWinner(int index, Riding riding) {
+        checkNotFrozen();
+        int oldWinner = this.winners[index];
+        int newWinner = findRidingWinner(index, riding.getCandidateList());
+
+        if (newWinner != oldWinner) {
+            int ridingElectors = this.electors[index];
+            this.winners[index] = newWinner;
+            if (oldWinner != -1) {
+                this.seatsWon[oldWinner]--;
+                if (this.firstWins[oldWinner] == index) {
+                    this.firstWins[oldWinner] = findFirstWin(oldWinner, index + 1, false);
+                }
+                if (ridingElectors > 0) {
+                    this.electorsWon[oldWinner] -= ridingElectors;
+                    if (this.firstWeightedWins[oldWinner] == index) {
+                        this.firstWeightedWins[oldWinner] = findFirstWin(oldWinner, index + 1, true);
+                    }
+                }
+            }
+            if (newWinner != -1) {
+                this.seatsWon[newWinner]++;
+                this.firstWins[newWinner] = Math.min(this.firstWins[newWinner], index);
+                if (ridingElectors > 0) {
+                    this.electorsWon[newWinner] += ridingElectors;
+                    this.firstWeightedWins[newWinner] = Math.min(this.firstWeightedWins[newWinner], index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the first riding won by a given party, starting
+     * from a given position, or the number of ridings if it won none of them.
+     *
+     * @param party    the ID of the party.
+     * @param from     the position of the first riding to be checked.
+     * @param weighted whether only ridings with electors should be counted.
+     * @return the position of the first riding won by the party.
+     */
+    private int findFirstWin(int party, int from, boolean weighted) {
+        int returnVal = this.numRidings;
+
+        for (int i = from; i < this.numRidings && returnVal == this.numRidings; i++) {
+            if (this.winners[i] == party && (!weighted || this.electors[i] > 0)) {
+                returnVal = i;
+            }
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the party with the most votes in a given riding. Ties are broken
+     * in favour of the party whose first candidate appears earliest in the
+     * riding.
+     *
+     * @param index      the position of the riding in the tallied list.
+     * @param candidates the candidates of the riding.
+     * @return the ID of the winning party, or -1 if no candidate has a
+     *         registered party.
+     */
+    private int findRidingWinner(int index, List<Candidate> candidates) {
+        int rowStart = index * this.numParties;
+        int winner = -1;
+
+        for (Candidate currCand : candidates) {
+            int partyId = currCand.getPartyId();
+            if (partyId != -1 && (winner == -1 || this.votes[rowStart + partyId] > this.votes[rowStart + winner])) {
+                winner = partyId;
+            }
+        }
+
+        return winner;
+    }
+
+    /**
+     * Returns the place of each party in MMP results: parties that won FPTP
+     * seats come first, in the order of their first seat, followed by the
+     * other parties in the order in which their first candidate appears.
+     *
+     * @return the place of each party, indexed by party ID.
+     */
+    int[] getMMPOrder() {
+        int[] order = new int[this.numParties];
+
+        for (int i = 0; i < this.numParties; i++) {
+            if (this.seatsWon[i] > 0) {
+                order[i] = this.firstWins[i];
+            } else {
+                order[i] = this.numRidings + this.seenRanks[i];
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Throws an IllegalStateException if the tally is frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Vote tally is frozen and can't be changed.");
+        }
+    }
+
+    /**
+     * Converts an array of seat counts indexed by party ID into an ArrayList
+     * of PartyResult, listing the parties in the order in which their first
+     * candidate appears. Only parties flagged in include are added; if include
+     * is null, only parties with a positive count are added.
+     *
+     * @param seats   the seat count of each party, indexed by party ID.
+     * @param include whether each party should be included, indexed by party
+     *                ID, or null to include parties with a positive count.
+     * @return an ArrayList of PartyResult containing each included party and
+     *         its seat count.
+     */
+    ArrayList<PartyResult> toPartyResults(int[] seats, boolean[] include) {
+        return toPartyResults(seats, include, this.seenRanks);
+    }
+
+    /**
+     * Converts an array of seat counts indexed by party ID into an ArrayList
+     * of PartyResult, listing the parties by increasing order value. Only
+     * parties flagged in include are added; if include is null, only parties
+     * with a positive count are added.
+     *
+     * @param seats   the seat count of each party, indexed by party ID.
+     * @param include whether each party should be included, indexed by party
+     *                ID, or null to include parties with a positive count.
+     * @param order   the place of each party in the list, indexed by party
+     *                ID; parties with the same value stay in ID order.
+     * @return an ArrayList of PartyResult containing each included party and
+     *         its seat count.
+     */
+    ArrayList<PartyResult> toPartyResults(int[] seats, boolean[] include, int[] order) {
+        ArrayList<PartyResult> results = new ArrayList<PartyResult>();
+        int[] listed = new int[seats.length];
+        int numListed = 0;
+
+        // Insert each included party after the parties that come before it;
+        // there are few enough parties that an insertion sort is fastest.
+        for (int i = 0; i < seats.length; i++) {
+            if ((include == null && seats[i] > 0) || (include != null && include[i])) {
+                int j = numListed++;
+                while (j > 0 && order[listed[j - 1]] > order[i]) {
+                    listed[j] = listed[j - 1];
+                    j--;
+                }
+                listed[j] = i;
+            }
+        }
+
+        for (int i = 0; i < numListed; i++) {
+            PartyResult currParty = new PartyResult(this.parties.getPartyName(listed[i]));
+            currParty.increment(seats[listed[i]]);
+            results.add(currParty);
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * VoteTallyTask.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 9
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Tallies a range of ridings into a VoteTally, either
+ *          directly on the calling thread or as a fork/join task. Each riding
+ *          only writes to its own row of the tally, so ranges can be tallied
+ *          independently. Per-party totals are kept in partial arrays owned by
+ *          the task; when a range is split, the two halves are tallied in
+ *          parallel and their partial arrays are added into those of the
+ *          parent task. Since every partial total is an integer, the merged
+ *          result is identical to tallying the ridings in order. The order in
+ *          which parties first appear and first win a riding is kept the same
+ *          way: the left half's order comes first, followed by the parties
+ *          that only appear in the right half.
+ */
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+public class VoteTallyTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public static final int RIDINGS_PER_TASK = 1024;
+
+    private VoteTally tally;
+    private ArrayList<Riding> ridings;
+    private int from;
+    private int to;
+
+    private long[] partyTotals;
+    private int[] candidateCounts;
+    private int[] seatsWon;
+    private long[] electorsWon;
+    private int[] seenRanks;
+    private int[] firstWins;
+    private int[] firstWeightedWins;
+    private long totalElectors;
+    private int numSeen;
+
+    /**
+     * Constructs a new VoteTallyTask for the ridings between two given
+     * positions, with empty partial totals for each party.
+     *
+     * @param tally   the VoteTally whose rows should be filled in.
+     * @param ridings the list of all ridings being tallied.
+     * @param from    the position of the first riding in the range.
+     * @param to      the position after the last riding in the range.
+     */
+    public VoteTallyTask(VoteTally tally, ArrayList<Riding> ridings, int from, int to) {
+        this.tally = tally;
+        this.ridings = ridings;
+        this.from = from;
+        this.to = to;
+
+        int numParties = tally.getNumParties();
+        this.partyTotals = new long[numParties];
+        this.candidateCounts = new int[numParties];
+        this.seatsWon = new int[numParties];
+        this.electorsWon = new long[numParties];
+        this.seenRanks = new int[numParties];
+        this.firstWins = new int[numParties];
+        this.firstWeightedWins = new int[numParties];
+        this.totalElectors = 0;
+        this.numSeen = 0;
+
+        // A party that never wins a riding is listed after every winner.
+        for (int i = 0; i < numParties; i++) {
+            this.firstWins[i] = tally.getNumRidings();
+            this.firstWeightedWins[i] = tally.getNumRidings();
+        }
+    }
+
+    public long[] getPartyTotals() {
+        return this.partyTotals;
+    }
+
+    public int[] getCandidateCounts() {
+        return this.candidateCounts;
+    }
+
+    public int[] getSeatsWon() {
+        return this.seatsWon;
+    }
+
+    public long[] getElectorsWon() {
+        return this.electorsWon;
+    }
+
+    /**
+     * Returns the rank of each party that has candidates in the range, in the
+     * order in which their first candidate appears. Parties without
+     * candidates in the range have no rank yet.
+     *
+     * @return the rank of each party, indexed by party ID.
+     */
+    public int[] getSeenRanks() {
+        return this.seenRanks;
+    }
+
+    public int getNumSeen() {
+        return this.numSeen;
+    }
+
+    /**
+     * Returns the position of the first riding won by each party, or the
+     * number of ridings in the tally if the party didn't win any riding in the
+     * range.
+     *
+     * @return the position of each party's first riding, indexed by party ID.
+     */
+    public int[] getFirstWins() {
+        return this.firstWins;
+    }
+
+    /**
+     * Returns the position of the first riding with electors won by each
+     * party, or the number of ridings in the tally if the party didn't win any
+     * such riding in the range.
+     *
+     * @return the position of each party's first riding with electors,
+     *         indexed by party ID.
+     */
+    public int[] getFirstWeightedWins() {
+        return this.firstWeightedWins;
+    }
+
+    public long getTotalElectors() {
+        return this.totalElectors;
+    }
+
+    /**
+     * Tallies every riding in the range on the calling thread, in order.
+     */
+    public void tallyRange() {
+        for (int i = this.from; i < this.to; i++) {
+            this.tally.tallyRiding(i, this.ridings.get(i), this);
+        }
+    }
+
+    /**
+     * Adds the votes of a candidate to the partial totals of a given party,
+     * ranking the party if this is its first candidate in the range.
+     *
+     * @param party the ID of the party.
+     * @param votes the number of votes won by the candidate.
+     */
+    public void addCandidate(int party, int votes) {
+        if (this.candidateCounts[party] == 0) {
+            this.seenRanks[party] = this.numSeen++;
+        }
+        this.partyTotals[party] += votes;
+        this.candidateCounts[party]++;
+    }
+
+    /**
+     * Credits a given party with winning a riding with a given number of
+     * electors. If party is -1 (the riding has no winner), only the electors
+     * are counted. Ridings must be added in order.
+     *
+     * @param index    the position of the riding in the tallied list.
+     * @param party    the ID of the winning party, or -1 if there is none.
+     * @param electors the number of electors in the riding.
+     */
+    public void addRidingResult(int index, int party, int electors) {
+        this.totalElectors += electors;
+        if (party != -1) {
+            if (this.seatsWon[party] == 0) {
+                this.firstWins[party] = index;
+            }
+            this.seatsWon[party]++;
+            if (electors > 0) {
+                if (this.electorsWon[party] == 0) {
+                    this.firstWeightedWins[party] = index;
+                }
+                this.electorsWon[party] += electors;
+            }
+        }
+    }
+
+    /**
+     * Tallies the range, splitting it in two and tallying both halves in
+     * parallel if it contains more than RIDINGS_PER_TASK ridings. The partial
+     * totals of both halves are then merged into this task.
+     */
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= RIDINGS_PER_TASK) {
+            tallyRange();
+        } else {
+            int middle = (this.from + this.to) >>> 1;
+            VoteTallyTask left = new VoteTallyTask(this.tally, this.ridings, this.from, middle);
+            VoteTallyTask right = new VoteTallyTask(this.tally, this.ridings, middle, this.to);
+            invokeAll(left, right);
+            merge(left);
+            merge(right);
+        }
+    }
+
+    /**
+     * Adds the partial totals of another task, covering the ridings after
+     * those already merged, into this task's totals. Parties that first appear
+     * in the other task are ranked after this task's parties, in the other
+     * task's order.
+     *
+     * @param other the task whose totals should be added.
+     */
+    private void merge(VoteTallyTask other) {
+        int[] byRank = new int[other.numSeen];
+        for (int i = 0; i < this.partyTotals.length; i++) {
+            if (other.candidateCounts[i] > 0) {
+                byRank[other.seenRanks[i]] = i;
+            }
+        }
+        for (int rank = 0; rank < other.numSeen; rank++) {
+            if (this.candidateCounts[byRank[rank]] == 0) {
+                this.seenRanks[byRank[rank]] = this.numSeen++;
+            }
+        }
+
+        for (int i = 0; i < this.partyTotals.length; i++) {
+            this.firstWins[i] = Math.min(this.firstWins[i], other.firstWins[i]);
+            this.firstWeightedWins[i] = Math.min(this.firstWeightedWins[i], other.firstWeightedWins[i]);
+            this.partyTotals[i] += other.partyTotals[i];
+            this.candidateCounts[i] += other.candidateCounts[i];
+            this.seatsWon[i] += other.seatsWon[i];
+            this.electorsWon[i] += other.electorsWon[i];
+        }
+        this.totalElectors += other.totalElectors;
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * ElectionBenchmark.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 22
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Benchmarks the hot paths of the election simulator on
+ *          synthetic elections of increasing size (by default 338, 10,000, and
+ *          100,000 ridings): loading ridings and candidates from CSV files,
+ *          building the vote tally, each seat distribution (computed on the
+ *          vote tally, plus one served from the simulator's result cache), a
+ *          seat sweep, the highest/lowest turnout searches, and writing the
+ *          full results file.
+ *          Each benchmark is warmed up, then run for several timed iterations.
+ *          Throughput is reported in operations per second (mean and standard
+ *          deviation across iterations), and the allocation rate as the number
+ *          of bytes allocated per operation by every live thread, including
+ *          the ForkJoinPool workers used by parallel loading and tallying, as
+ *          measured by the JVM's ThreadMXBean (less what the measurement
+ *          itself allocates). Untimed setup (such as loading fresh ridings
+ *          before each candidate load) is excluded from both.
+ *
+ *          USAGE: java -cp <classes> ElectionBenchmark [numRidings ...]
+ */
+
+import com.sun.management.ThreadMXBean;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+
+public class ElectionBenchmark {
+    public static final int[] DEFAULT_SIZES = { 338, 10000, 100000 };
+    public static final int TOTAL_SEATS = 338;
+    public static final int SWEEP_MIN_SEATS = 300;
+    public static final int SWEEP_MAX_SEATS = 400;
+    public static final long SEED = 1020;
+    public static final int WARMUP_ITERATIONS = 3;
+    public static final int MEASURED_ITERATIONS = 5;
+    public static final long ITERATION_NANOS = 1000000000L;
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // The bytes allocated by a measurement itself, which are subtracted from
+    // every operation. Measured again for each benchmark, since it depends on
+    // the number of live threads.
+    private static long measurementBytes;
+
+    private static ElectionSimulator sim;
+    private static ElectionSimulator scratchSim;
+
+    // Results are stored here so that the JIT can't discard the operations.
+    private static Object sink;
+
+    /**
+     * Runs every benchmark on a synthetic election of each given size.
+     *
+     * @param args the numbers of ridings to benchmark, or none to use
+     *             DEFAULT_SIZES.
+     * @throws Exception if the data cannot be generated or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        File directory = Files.createTempDirectory("election-bench").toFile();
+        String outputFile = new File(directory, "results.txt").getPath();
+
+        System.out.printf("%-40s %10s %14s %12s %14s%n", "Benchmark", "Ridings", "ops/s", "+/-", "B/op");
+        for (int size : sizes) {
+            SyntheticElection data = new SyntheticElection(directory.getPath(), size, SEED);
+            String ridingsFile = data.getRidingsFile();
+            String candidatesFile = data.getCandidatesFile();
+            String[] parties = SyntheticElection.PARTIES;
+
+            sim = new ElectionSimulator();
+            IOHelper.loadRidingsFromCSV(sim, ridingsFile);
+            IOHelper.loadCandidatesFromCSV(sim, candidatesFile, parties);
+            VoteTally tally = sim.getTally();
+
+            measure("loadRidingsFromCSV", size, null,
+                    () -> IOHelper.loadRidingsFromCSV(new ElectionSimulator(), ridingsFile));
+            measure("loadCandidatesFromCSV", size,
+                    () -> loadScratchRidings(ridingsFile),
+                    () -> IOHelper.loadCandidatesFromCSV(scratchSim, candidatesFile, parties));
+            measure("buildTally", size, null,
+                    () -> sink = new VoteTally(sim.getRidings(), sim.getPartyRegistry(), false));
+
+            // The simulator caches these results, so they are computed on its
+            // tally to measure the computation rather than a cache hit.
+            measure("getTotalVotesPerPartyNational", size, null, () -> sink = tally.getTotalVotesPerParty());
+            measure("getNPVWinner", size, null, () -> sink = sim.getNPVWinner());
+            measure("getFPTPSeatDistribution", size, null, () -> sink = tally.getFPTPSeatDistribution());
+            measure("getPRSeatDistribution", size, null, () -> sink = tally.getPRSeatDistribution(TOTAL_SEATS));
+            measure("getMMPSeatDistribution", size, null, () -> sink = tally.getMMPSeatDistribution());
+            measure("getWeightedFPTPSeatDistribution", size, null,
+                    () -> sink = tally.getWeightedFPTPSeatDistribution(TOTAL_SEATS));
+            measure("getFPTPSeatDistribution (cached)", size, null, () -> sink = sim.getFPTPSeatDistribution());
+            measure("getSeatSweep", size, null,
+                    () -> sink = sim.getSeatSweep(SWEEP_MIN_SEATS, SWEEP_MAX_SEATS, Apportionment.DHONDT));
+            measure("getRidingWithHighestTurnout", size, null, () -> sink = sim.getRidingWithHighestTurnout());
+            measure("getRidingWithLowestTurnout", size, null, () -> sink = sim.getRidingWithLowestTurnout());
+            measure("writeResultsToFile", size, null,
+                    () -> IOHelper.writeResultsToFile(sim, outputFile, TOTAL_SEATS));
+
+            new File(ridingsFile).delete();
+            new File(candidatesFile).delete();
+        }
+
+        new File(outputFile).delete();
+        directory.delete();
+    }
+
+    /**
+     * Loads a fresh copy of the ridings into the scratch simulator, so that
+     * candidates can be loaded into it.
+     *
+     * @param ridingsFile the ridings CSV file.
+     * @throws Exception if the file cannot be loaded.
+     */
+    private static void loadScratchRidings(String ridingsFile) throws Exception {
+        scratchSim = new ElectionSimulator();
+        IOHelper.loadRidingsFromCSV(scratchSim, ridingsFile);
+    }
+
+    /**
+     * Runs a benchmark for WARMUP_ITERATIONS untimed iterations, then for
+     * MEASURED_ITERATIONS timed iterations of about ITERATION_NANOS each, and
+     * prints its throughput and allocation rate.
+     *
+     * @param name       the name of the benchmark.
+     * @param numRidings the number of ridings in the election.
+     * @param setup      the untimed step run before each operation, or null.
+     * @param operation  the operation being measured.
+     * @throws Exception if the setup or the operation fails.
+     */
+    private static void measure(String name, int numRidings, iBenchmark setup, iBenchmark operation)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(setup, operation);
+        }
+        measurementBytes = measureAllocationOverhead();
+
+        double[] opsPerSecond = new double[MEASURED_ITERATIONS];
+        long totalOps = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long[] result = runIteration(setup, operation);
+            opsPerSecond[i] = result[0] * 1e9 / result[1];
+            totalOps += result[0];
+            totalBytes += result[2];
+        }
+
+        // Get the mean and standard deviation of the throughput.
+        double mean = 0;
+        for (double currOps : opsPerSecond) {
+            mean += currOps;
+        }
+        mean /= MEASURED_ITERATIONS;
+        double variance = 0;
+        for (double currOps : opsPerSecond) {
+            variance += (currOps - mean) * (currOps - mean);
+        }
+        double stdDev = Math.sqrt(variance / (MEASURED_ITERATIONS - 1));
+
+        System.out.printf("%-40s %10d %14.2f %12.2f %14d%n", name, numRidings, mean, stdDev, totalBytes / totalOps);
+    }
+
+    /**
+     * Runs an operation repeatedly until ITERATION_NANOS have been spent in
+     * it (or at least once), timing only the operation and not its setup.
+     *
+     * @param setup     the untimed step run before each operation, or null.
+     * @param operation the operation being measured.
+     * @return an array with the number of operations run, the nanoseconds
+     *         spent in them, and the bytes they allocated.
+     * @throws Exception if the setup or the operation fails.
+     */
+    private static long[] runIteration(iBenchmark setup, iBenchmark operation) throws Exception {
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+
+        // Without setup, the allocation of the whole iteration is measured at
+        // once, since measuring every thread costs more than a fast operation.
+        long[] threadIds = THREADS.getAllThreadIds();
+        long[] startBytes = THREADS.getThreadAllocatedBytes(threadIds);
+
+        while (nanos < ITERATION_NANOS) {
+            if (setup != null) {
+                setup.run();
+                threadIds = THREADS.getAllThreadIds();
+                startBytes = THREADS.getThreadAllocatedBytes(threadIds);
+            }
+
+            long start = System.nanoTime();
+            operation.run();
+            nanos += System.nanoTime() - start;
+            if (setup != null) {
+                bytes += Math.max(0, allocatedBytesSince(threadIds, startBytes) - measurementBytes);
+            }
+            ops++;
+        }
+
+        if (setup == null) {
+            bytes = Math.max(0, allocatedBytesSince(threadIds, startBytes) - measurementBytes);
+        }
+
+        return new long[] { ops, nanos, bytes };
+    }
+
+    /**
+     * Returns the smallest number of bytes that measuring the allocation of
+     * an operation that does nothing reports, which is what taking the
+     * measurement allocates.
+     *
+     * @return the bytes allocated by a measurement.
+     */
+    private static long measureAllocationOverhead() {
+        long returnVal = Long.MAX_VALUE;
+
+        for (int i = 0; i < 1000; i++) {
+            long[] threadIds = THREADS.getAllThreadIds();
+            long[] startBytes = THREADS.getThreadAllocatedBytes(threadIds);
+            returnVal = Math.min(returnVal, allocatedBytesSince(threadIds, startBytes));
+        }
+
+        return returnVal;
+    }
+
+    /**
+     * Returns the number of bytes allocated by every live thread since a
+     * given measurement. Threads started since then are counted from 0, and
+     * threads that have ended since then are left out.
+     *
+     * @param threadIds  the IDs of the threads that were live when the
+     *                   measurement was taken.
+     * @param startBytes the bytes allocated by each of those threads at the
+     *                   time, or -1 for a thread that had already ended.
+     * @return the number of bytes allocated since the measurement.
+     */
+    private static long allocatedBytesSince(long[] threadIds, long[] startBytes) {
+        long[] currIds = THREADS.getAllThreadIds();
+        long[] currBytes = THREADS.getThreadAllocatedBytes(currIds);
+        long returnVal = 0;
+
+        for (int i = 0; i < currIds.length; i++) {
+            if (currBytes[i] != -1) {
+                returnVal += currBytes[i];
+                for (int j = 0; j < threadIds.length; j++) {
+                    if (threadIds[j] == currIds[i] && startBytes[j] != -1) {
+                        returnVal -= startBytes[j];
+                    }
+                }
+            }
+        }
+
+        return returnVal;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * SyntheticElection.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 21
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Generates ridings and candidates CSV files in the same
+ *          format as the real election data, with any number of ridings, for
+ *          use by the benchmarks. Each riding is placed in a random
+ *          province/territory and has between MIN_CANDIDATES and
+ *          MAX_CANDIDATES candidates from distinct parties. A fixed seed always
+ *          produces the same files, so benchmark results can be compared
+ *          between runs.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+public class SyntheticElection {
+    public static final String[] PARTIES = {
+            "Liberal/Libéral",
+            "NDP-New Democratic Party/NPD-Nouveau Parti démocratique",
+            "Conservative/Conservateur",
+            "People's Party - PPC/Parti populaire - PPC",
+            "Green Party/Parti Vert",
+            "Independent/Indépendant(e)",
+            "Bloc Québécois/Bloc Québécois",
+            "Maverick Party/Maverick Party",
+            "Christian Heritage Party/Parti de l'Héritage Chrétien",
+            "Communist/Communiste"
+    };
+    public static final int MIN_CANDIDATES = 2;
+    public static final int MAX_CANDIDATES = 7;
+    public static final int MIN_ELECTORS = 20000;
+    public static final int MAX_ELECTORS = 120000;
+    public static final double OUT_OF_PROVINCE_RATE = 0.05;
+
+    private String ridingsFile;
+    private String candidatesFile;
+
+    /**
+     * Generates a ridings file and a candidates file with a given number of
+     * ridings in a given directory.
+     *
+     * @param directory  the directory in which the files are written.
+     * @param numRidings the number of ridings to generate.
+     * @param seed       the seed of the random number generator.
+     * @throws IOException if the files cannot be written to properly.
+     */
+    public SyntheticElection(String directory, int numRidings, long seed) throws IOException {
+        this.ridingsFile = new File(directory, "ridings_" + numRidings + ".csv").getPath();
+        this.candidatesFile = new File(directory, "candidates_" + numRidings + ".csv").getPath();
+
+        Random random = new Random(seed);
+        PrintWriter ridings = new PrintWriter(new File(this.ridingsFile), "UTF-8");
+        PrintWriter candidates = new PrintWriter(new File(this.candidatesFile), "UTF-8");
+        try {
+            ridings.println("Province,Electoral District Name,Electoral District Number,Electors");
+            candidates.println("Province,Electoral District Name,Electoral District Number,Candidate,"
+                    + "Candidate Residence,Votes Obtained");
+
+            int[] partyOrder = new int[PARTIES.length];
+            for (int i = 0; i < numRidings; i++) {
+                ProvinceTerritory province = randomProvince(random);
+                String name = "Riding " + i + "/Circonscription " + i;
+                int id = 10000 + i;
+                int electors = MIN_ELECTORS + random.nextInt(MAX_ELECTORS - MIN_ELECTORS);
+                ridings.println(province.getFullNameBilingual() + "," + name + "," + id + "," + electors);
+
+                // Pick distinct parties by shuffling the first few positions.
+                for (int p = 0; p < PARTIES.length; p++) {
+                    partyOrder[p] = p;
+                }
+                int numCandidates = MIN_CANDIDATES + random.nextInt(MAX_CANDIDATES - MIN_CANDIDATES + 1);
+                for (int c = 0; c < numCandidates; c++) {
+                    int swap = c + random.nextInt(PARTIES.length - c);
+                    int party = partyOrder[swap];
+                    partyOrder[swap] = partyOrder[c];
+                    partyOrder[c] = party;
+
+                    ProvinceTerritory residence = province;
+                    if (random.nextDouble() < OUT_OF_PROVINCE_RATE) {
+                        residence = randomProvince(random);
+                    }
+                    String incumbent = random.nextInt(5) == 0 ? " **" : "";
+                    candidates.println(province.getFullNameBilingual() + "," + name + "," + id + ",Candidate"
+                            + i + "-" + c + incumbent + " " + PARTIES[party] + "," + residence.getBilingualShort()
+                            + "," + random.nextInt(electors / 3 + 1));
+                }
+            }
+        } finally {
+            ridings.close();
+            candidates.close();
+        }
+    }
+
+    public String getRidingsFile() {
+        return this.ridingsFile;
+    }
+
+    public String getCandidatesFile() {
+        return this.candidatesFile;
+    }
+
+    /**
+     * Returns a random province/territory.
+     *
+     * @param random the random number generator.
+     * @return a random province/territory.
+     */
+    private static ProvinceTerritory randomProvince(Random random) {
+        return ProvinceTerritory.ALL_PROVINCES[random.nextInt(ProvinceTerritory.ALL_PROVINCES.length)];
+    }
+}
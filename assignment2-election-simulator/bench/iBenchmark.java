@@ -0,0 +1,23 @@
+/**
+ * iBenchmark.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 20
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Interface for one step of a benchmark run by
+ *          ElectionBenchmark, either the operation being measured or the
+ *          untimed setup performed before each invocation of it.
+ */
+
+public interface iBenchmark {
+    /**
+     * Runs the step once.
+     *
+     * @throws Exception if the step fails.
+     */
+    void run() throws Exception;
+}
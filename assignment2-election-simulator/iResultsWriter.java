@@ -0,0 +1,73 @@
+/**
+ * iResultsWriter.java
+ *
+ * COMP 1020 Section A01
+ * INSTRUCTOR Simon Wermie
+ * ASSIGNMENT 2, 30
+ *
+ * @author Michel Préjet
+ * @version October 18th, 2026
+ *
+ *          PURPOSE: Interface for a writer that streams the results of an
+ *          election to an output stream in a given format. IOHelper calls the
+ *          writer once per section of the results, in order: the total votes
+ *          per party, the NPV winner, the seat distribution of each electoral
+ *          system, and optionally one record per riding. Writers don't keep
+ *          past records, so results of any size are written with bounded
+ *          memory. Defines the formats available from IOHelper.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+public interface iResultsWriter {
+    int TEXT = 0;
+    int CSV = 1;
+    int JSONL = 2;
+    int BINARY = 3;
+    String[] FORMAT_NAMES = { "Text", "CSV", "JSON Lines", "Binary" };
+
+    /**
+     * Writes the total number of votes won by each party nationally.
+     *
+     * @param totals the vote total of each party.
+     * @throws IOException if the output cannot be written to.
+     */
+    void writeTotalVotes(ArrayList<PartyResult> totals) throws IOException;
+
+    /**
+     * Writes the winner of the national popular vote.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param winner       the name of the winning party.
+     * @throws IOException if the output cannot be written to.
+     */
+    void writeNPVWinner(int methodNumber, String winner) throws IOException;
+
+    /**
+     * Writes the seat distribution of an electoral system.
+     *
+     * @param methodNumber the number of the method in the results.
+     * @param system       the name of the electoral system.
+     * @param seats        the number of seats won by each party.
+     * @throws IOException if the output cannot be written to.
+     */
+    void writeSeatDistribution(int methodNumber, String system, ArrayList<PartyResult> seats) throws IOException;
+
+    /**
+     * Writes the results of one riding.
+     *
+     * @param riding       the riding.
+     * @param winningParty the name of the party that won the riding, or "N/A"
+     *                     if no party did.
+     * @throws IOException if the output cannot be written to.
+     */
+    void writeRiding(Riding riding, String winningParty) throws IOException;
+
+    /**
+     * Flushes anything left to be written and closes the output.
+     *
+     * @throws IOException if the output cannot be written to.
+     */
+    void close() throws IOException;
+}